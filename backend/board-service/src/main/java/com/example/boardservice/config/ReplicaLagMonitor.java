@@ -0,0 +1,77 @@
+package com.example.boardservice.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+// периодически меряет отставание реплики; пока первая проверка не прошла, чтение идет в primary
+@Slf4j
+public class ReplicaLagMonitor {
+
+    // если реплика проиграла весь полученный WAL, она не отстает, даже если последняя транзакция была давно;
+    // на не-реплике (pg_is_in_recovery() = false) функции возвращают NULL - считаем отставание нулевым
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+            END
+            """;
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final long maxLagMillis;
+    private final Counter fallbacks;
+
+    private volatile boolean usable;
+    private volatile long lagMillis = -1;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, MeterRegistry meterRegistry, long maxLagMillis) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.replicaJdbcTemplate.setQueryTimeout(2);
+        this.maxLagMillis = maxLagMillis;
+
+        Gauge.builder("datasource.replica.lag", this, monitor -> monitor.lagMillis)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.usable", this, monitor -> monitor.usable ? 1 : 0)
+                .register(meterRegistry);
+        this.fallbacks = Counter.builder("datasource.replica.fallbacks").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval-ms:1000}")
+    public void checkLag() {
+        try {
+            Double lag = replicaJdbcTemplate.queryForObject(LAG_QUERY, Double.class);
+            lagMillis = lag != null ? lag.longValue() : 0;
+
+            boolean nowUsable = lagMillis <= maxLagMillis;
+            if (nowUsable != usable) {
+                log.info("Replica lag {} ms (max {} ms), replica reads {}", lagMillis, maxLagMillis,
+                        nowUsable ? "enabled" : "disabled");
+            }
+            usable = nowUsable;
+        } catch (Exception e) {
+            if (usable) {
+                log.warn("Replica lag check failed, reading from primary: {}", e.getMessage());
+            }
+            lagMillis = -1;
+            usable = false;
+        }
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    void markUnavailable() {
+        usable = false;
+    }
+
+    void recordFallback() {
+        fallbacks.increment();
+    }
+}
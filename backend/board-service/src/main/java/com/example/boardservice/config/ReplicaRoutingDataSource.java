@@ -0,0 +1,52 @@
+package com.example.boardservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+// источник соединений для read-only транзакций: реплика, пока она успевает за primary,
+// иначе (или при ошибке подключения) - primary
+@Slf4j
+class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaLagMonitor lagMonitor;
+
+    ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lagMonitor = lagMonitor;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (lagMonitor.isReplicaUsable()) {
+            try {
+                return replica.getConnection();
+            } catch (SQLException e) {
+                log.warn("Replica connection failed, reading from primary: {}", e.getMessage());
+                lagMonitor.markUnavailable();
+            }
+        }
+        lagMonitor.recordFallback();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (lagMonitor.isReplicaUsable()) {
+            try {
+                return replica.getConnection(username, password);
+            } catch (SQLException e) {
+                log.warn("Replica connection failed, reading from primary: {}", e.getMessage());
+                lagMonitor.markUnavailable();
+            }
+        }
+        lagMonitor.recordFallback();
+        return primary.getConnection(username, password);
+    }
+}
@@ -3,12 +3,16 @@ package com.example.boardservice.dto.models;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
 @Table(name = "project_roles", schema = "board_service_schema")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "projectRoles")
 @Getter
 @Setter
 @ToString(exclude = "permissions")
@@ -19,7 +23,7 @@ import java.util.Set;
 public class ProjectRole {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "role_seq")
-    @SequenceGenerator(name = "role_seq", sequenceName = "project_roles_id_seq", allocationSize = 1)
+    @SequenceGenerator(name = "role_seq", sequenceName = "project_roles_id_seq", allocationSize = 5)
     private Long id;
 
     @ManyToOne
@@ -31,6 +35,7 @@ public class ProjectRole {
 
     @OneToMany(mappedBy = "role", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
     @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "projectRoles.permissions")
     @Builder.Default
     private Set<RolePermission> permissions = new HashSet<>();
 
@@ -0,0 +1,18 @@
+package com.example.boardservice.repository;
+
+import com.example.boardservice.dto.models.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // самые старые события, заблокированные для текущего релея (другие инстансы пропускают их и берут следующие)
+    @Query(value = "SELECT * FROM board_service_schema.outbox_events ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("limit") int limit);
+}
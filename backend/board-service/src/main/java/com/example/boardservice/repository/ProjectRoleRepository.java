@@ -1,8 +1,11 @@
 package com.example.boardservice.repository;
 
 import com.example.boardservice.dto.models.ProjectRole;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
@@ -10,6 +13,10 @@ import java.util.Optional;
 
 public interface ProjectRoleRepository extends JpaRepository<ProjectRole, Long> {
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "projectRolesByProject")
+    })
     Optional<ProjectRole> findByProject_IdAndIsDefaultTrue(Long projectId);
 
     @Query("SELECT pr.isOwner FROM ProjectRole pr WHERE pr.id = :roleId")
@@ -19,6 +26,10 @@ public interface ProjectRoleRepository extends JpaRepository<ProjectRole, Long>
     List<ProjectRole> findByProject_IdWithPermissions(@Param("projectId") Long projectId);
 
     @Query("SELECT r.id FROM ProjectRole r WHERE r.project.id = :projectId")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "projectRolesByProject")
+    })
     List<Long> findRoleIdsByProjectId(@Param("projectId") Long projectId);
 
     @Query("SELECT DISTINCT pr FROM ProjectRole pr " +
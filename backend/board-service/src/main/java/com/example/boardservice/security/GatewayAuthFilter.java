@@ -51,7 +51,7 @@ public class GatewayAuthFilter extends OncePerRequestFilter {
         log.info("Incoming {} {} from IP: {}, Source: {}", method, path, clientIp, requestSource);
 
         // пропуск публичных эндпоинтов
-        if (isPublicEndpoint(path)) {
+        if (SecurityWhiteList.isPublicEndpoint(path)) {
             log.debug("Public endpoint accessed: {}", path);
             chain.doFilter(request, response);
             return;
@@ -106,15 +106,4 @@ public class GatewayAuthFilter extends OncePerRequestFilter {
                         System.currentTimeMillis(), message)
         );
     }
-
-    // проверка на публичные эндпоинты
-    private boolean isPublicEndpoint(String path) {
-        return SecurityWhiteList.PUBLIC_ENDPOINTS.stream()
-                .anyMatch(pattern -> {
-                    if (pattern.endsWith("/**")) {
-                        return path.startsWith(pattern.replace("/**", ""));
-                    }
-                    return path.equals(pattern) || path.matches(pattern.replace("*", ".*"));
-                });
-    }
 }
\ No newline at end of file
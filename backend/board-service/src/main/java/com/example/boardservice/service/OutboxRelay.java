@@ -0,0 +1,61 @@
+package com.example.boardservice.service;
+
+import com.example.boardservice.dto.models.OutboxEvent;
+import com.example.boardservice.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    // фоновая отправка событий из outbox в RabbitMQ пачками
+    // строки удаляются в той же транзакции только после подтверждения брокера (publisher confirms),
+    // при ошибке транзакция откатывается и пачка уйдет повторно (at-least-once)
+
+    private final OutboxEventRepository outboxRepository;
+    private final EventProducerService producer;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public OutboxRelay(OutboxEventRepository outboxRepository,
+                       EventProducerService producer,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${outbox.relay.batch-size:100}") int batchSize) {
+        this.outboxRepository = outboxRepository;
+        this.producer = producer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:500}")
+    public void relay() {
+        try {
+            Integer sent;
+            do {
+                sent = transactionTemplate.execute(status -> relayBatch());
+            } while (sent != null && sent == batchSize);
+        } catch (Exception e) {
+            log.error("Outbox relay failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> batch = outboxRepository.lockNextBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        producer.publishBatch(batch);
+        outboxRepository.deleteAllInBatch(batch);
+
+        log.debug("Relayed {} outbox events", batch.size());
+        return batch.size();
+    }
+}
@@ -38,28 +38,22 @@ public class ProjectRoleService {
     private final UserServiceClient userServiceClient;
     private final RolePermissionFactory permissionFactory;
 
-    @Transactional // при создании проекта генерируются 5 базовых ролей
+    // при создании проекта генерируются 5 базовых ролей
+    // права копируются из готовых шаблонов RolePermissionFactory, роли и права сохраняются одним saveAll:
+    // id выдаются пулом последовательностей, INSERT уходят пачками (роли - одна, права - по 50 строк)
+    @Transactional
     public ProjectRole createDefaultRoles(Long projectId) {
-        List<ProjectRole> roles = List.of(
-                roleBuilder(projectId, "Owner", false, true),
-                roleBuilder(projectId, "User", true, false),
-                roleBuilder(projectId, "Developer", false, false),
-                roleBuilder(projectId, "Code Reviewer", false, false),
-                roleBuilder(projectId, "QA Engineer", false, false)
-        );
-        roleRepository.saveAll(roles);
-
-        for (ProjectRole role : roles) {
-            Set<RolePermission> rolePermissions = permissionFactory.createPermissions(role);
-
-            role.getPermissions().addAll(rolePermissions);
-
-            roleRepository.save(role);
-
-            log.debug("Saved {} permissions for role '{}'", rolePermissions.size(), role.getName());
+        List<ProjectRole> roles = new ArrayList<>(RolePermissionFactory.DEFAULT_ROLES.size());
+        for (String roleName : RolePermissionFactory.DEFAULT_ROLES) {
+            ProjectRole role = roleBuilder(projectId, roleName, roleName.equals("User"), roleName.equals("Owner"));
+            role.getPermissions().addAll(permissionFactory.createPermissions(role));
+            roles.add(role);
         }
 
-        log.info("Created {} default roles for project {}", roles.size(), projectId);
+        roleRepository.saveAll(roles);
+
+        log.info("Created {} default roles with {} permissions for project {}", roles.size(),
+                roles.stream().mapToInt(role -> role.getPermissions().size()).sum(), projectId);
         return roles.getFirst();
     }
 
@@ -4,136 +4,164 @@ import com.example.boardservice.dto.models.ProjectRole;
 import com.example.boardservice.dto.models.RolePermission;
 import com.example.boardservice.dto.models.enums.ActionType;
 import com.example.boardservice.dto.models.enums.EntityType;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Component
-@RequiredArgsConstructor
 public class RolePermissionFactory {
+
+    // наборы прав базовых ролей одинаковы для всех проектов, поэтому считаются один раз при старте,
+    // а при создании проекта только копируются в сущности RolePermission новой роли
+
+    public static final List<String> DEFAULT_ROLES = List.of(
+            "Owner", "User", "Developer", "Code Reviewer", "QA Engineer"
+    );
+
     private final PermissionMatrixService permissionMatrixService;
+    private final Map<String, List<Grant>> templates;
+
+    public RolePermissionFactory(PermissionMatrixService permissionMatrixService) {
+        this.permissionMatrixService = permissionMatrixService;
+
+        Map<String, List<Grant>> templates = new HashMap<>();
+        for (String roleName : DEFAULT_ROLES) {
+            templates.put(roleName, List.copyOf(createGrants(roleName)));
+        }
+        this.templates = Map.copyOf(templates);
+    }
 
     public Set<RolePermission> createPermissions(ProjectRole role) {
-        return switch (role.getName()) {
-            case "Owner" -> createOwnerPermissions(role);
-            case "User" -> createUserPermissions(role);
-            case "Developer" -> createDeveloperPermissions(role);
-            case "Code Reviewer" -> createCodeReviewerPermissions(role);
-            case "QA Engineer" -> createQaEngineerPermissions(role);
-            default -> throw new IllegalArgumentException("Unknown default role: " + role.getName());
+        List<Grant> template = templates.get(role.getName());
+        if (template == null) {
+            throw new IllegalArgumentException("Unknown default role: " + role.getName());
+        }
+
+        Set<RolePermission> permissions = new HashSet<>(template.size() * 2);
+        for (Grant grant : template) {
+            permissions.add(createPermission(role, grant.entity(), grant.action()));
+        }
+        return permissions;
+    }
+
+    private Set<Grant> createGrants(String roleName) {
+        return switch (roleName) {
+            case "Owner" -> createOwnerPermissions();
+            case "User" -> createUserPermissions();
+            case "Developer" -> createDeveloperPermissions();
+            case "Code Reviewer" -> createCodeReviewerPermissions();
+            case "QA Engineer" -> createQaEngineerPermissions();
+            default -> throw new IllegalArgumentException("Unknown default role: " + roleName);
         };
     }
 
     // owner роль
-    private Set<RolePermission> createOwnerPermissions(ProjectRole role) {
+    private Set<Grant> createOwnerPermissions() {
         return Arrays.stream(EntityType.values())
                 .flatMap(entity -> permissionMatrixService.getAllowedActions(entity).stream()
-                        .map(action -> createPermission(role, entity, action)))
+                        .map(action -> new Grant(entity, action)))
                 .collect(Collectors.toSet());
     }
 
     // user роль (все VIEW кроме LOGS)
-    private Set<RolePermission> createUserPermissions(ProjectRole role) {
+    private Set<Grant> createUserPermissions() {
         return Arrays.stream(EntityType.values())
                 .filter(entity -> entity != EntityType.LOGS)
-                .map(entity -> createPermission(role, entity, ActionType.VIEW))
+                .map(entity -> new Grant(entity, ActionType.VIEW))
                 .collect(Collectors.toSet());
     }
 
     // developer роль
-    private Set<RolePermission> createDeveloperPermissions(ProjectRole role) {
-        Set<RolePermission> permissions = new HashSet<>();
+    private Set<Grant> createDeveloperPermissions() {
+        Set<Grant> permissions = new HashSet<>();
 
         // базовый view
-        addBaseViewPermissions(role, permissions);
+        addBaseViewPermissions(permissions);
 
         // забрать задачу, создание сабтасков, отправка задачи на review
-        addPermissions(role, EntityType.ISSUE, Set.of(
+        addPermissions(EntityType.ISSUE, Set.of(
                 ActionType.TAKE_ISSUE, ActionType.CREATE_SUBTASK, ActionType.SUBMIT_FOR_REVIEW
         ), permissions);
 
         // доступ к комментариям, файлам и добавлению тегов
-        addCommentPermissions(role, permissions);
-        addAttachmentPermissions(role, permissions);
-        addTagPermissions(role, permissions);
+        addCommentPermissions(permissions);
+        addAttachmentPermissions(permissions);
+        addTagPermissions(permissions);
 
         return permissions;
     }
 
     // code reviewer роль
-    private Set<RolePermission> createCodeReviewerPermissions(ProjectRole role) {
-        Set<RolePermission> permissions = new HashSet<>();
+    private Set<Grant> createCodeReviewerPermissions() {
+        Set<Grant> permissions = new HashSet<>();
 
         // базовый view
-        addBaseViewPermissions(role, permissions);
+        addBaseViewPermissions(permissions);
 
         // отправить задачу обратно/на QA
-        addPermissions(role, EntityType.ISSUE, Set.of(
+        addPermissions(EntityType.ISSUE, Set.of(
                 ActionType.TRANSITION_CODE_REVIEW
         ), permissions);
 
         // доступ к комментариям, файлам и добавлению тегов
-        addCommentPermissions(role, permissions);
-        addAttachmentPermissions(role, permissions);
-        addTagPermissions(role, permissions);
+        addCommentPermissions(permissions);
+        addAttachmentPermissions(permissions);
+        addTagPermissions(permissions);
 
         return permissions;
     }
 
     // qa engineer роль
-    private Set<RolePermission> createQaEngineerPermissions(ProjectRole role) {
-        Set<RolePermission> permissions = new HashSet<>();
+    private Set<Grant> createQaEngineerPermissions() {
+        Set<Grant> permissions = new HashSet<>();
 
         // базовый view
-        addBaseViewPermissions(role, permissions);
+        addBaseViewPermissions(permissions);
 
         // отправить задачу обратно/на готовность к завершению
-        addPermissions(role, EntityType.ISSUE, Set.of(
+        addPermissions(EntityType.ISSUE, Set.of(
                 ActionType.CREATE, ActionType.EDIT, ActionType.TRANSITION_QA
         ), permissions);
 
         // доступ к комментариям, файлам и добавлению тегов
-        addCommentPermissions(role, permissions);
-        addAttachmentPermissions(role, permissions);
-        addTagPermissions(role, permissions);
+        addCommentPermissions(permissions);
+        addAttachmentPermissions(permissions);
+        addTagPermissions(permissions);
 
         return permissions;
     }
 
     // добавить права просмотра (кроме logs)
-    private void addBaseViewPermissions(ProjectRole role, Set<RolePermission> permissions) {
+    private void addBaseViewPermissions(Set<Grant> permissions) {
         Arrays.stream(EntityType.values())
                 .filter(entity -> entity != EntityType.LOGS)
-                .forEach(entity -> addPermissions(role, entity, Set.of(ActionType.VIEW), permissions));
+                .forEach(entity -> addPermissions(entity, Set.of(ActionType.VIEW), permissions));
     }
 
     // права на комментарии
-    private void addCommentPermissions(ProjectRole role, Set<RolePermission> permissions) {
-        addPermissions(role, EntityType.COMMENT, Set.of(
+    private void addCommentPermissions(Set<Grant> permissions) {
+        addPermissions(EntityType.COMMENT, Set.of(
                 ActionType.VIEW, ActionType.CREATE, ActionType.EDIT_OWN, ActionType.DELETE_OWN
         ), permissions);
     }
 
     // права на файлы
-    private void addAttachmentPermissions(ProjectRole role, Set<RolePermission> permissions) {
-        addPermissions(role, EntityType.ATTACHMENT, Set.of(
+    private void addAttachmentPermissions(Set<Grant> permissions) {
+        addPermissions(EntityType.ATTACHMENT, Set.of(
                 ActionType.VIEW, ActionType.CREATE, ActionType.DELETE_OWN
         ), permissions);
     }
 
     // права на добавление тегов
-    private void addTagPermissions(ProjectRole role, Set<RolePermission> permissions) {
-        addPermissions(role, EntityType.TAG, Set.of(
+    private void addTagPermissions(Set<Grant> permissions) {
+        addPermissions(EntityType.TAG, Set.of(
                 ActionType.VIEW, ActionType.APPLY
         ), permissions);
     }
 
-    private void addPermissions(ProjectRole role, EntityType entity, Set<ActionType> actions, Set<RolePermission> permissions) {
-        actions.forEach(action -> permissions.add(createPermission(role, entity, action)));
+    private void addPermissions(EntityType entity, Set<ActionType> actions, Set<Grant> permissions) {
+        actions.forEach(action -> permissions.add(new Grant(entity, action)));
     }
 
     private RolePermission createPermission(ProjectRole role, EntityType entity, ActionType action) {
@@ -143,4 +171,6 @@ public class RolePermissionFactory {
                 .action(action)
                 .build();
     }
+
+    private record Grant(EntityType entity, ActionType action) {}
 }
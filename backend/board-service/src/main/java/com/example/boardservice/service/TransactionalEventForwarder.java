@@ -12,29 +12,32 @@ import org.springframework.transaction.event.TransactionalEventListener;
 @Slf4j
 public class TransactionalEventForwarder {
 
+    // события пишутся в outbox в той же транзакции, что и изменения (BEFORE_COMMIT),
+    // поэтому не теряются при падении процесса и не ждут брокер в потоке запроса
+
     private final EventProducerService producer;
 
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
     public void handleProjectCreated(ProjectCreatedEvent event) {
         producer.sendProjectCreatedEvent(event);
     }
 
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
     public void handleProjectUpdated(ProjectUpdatedEvent event) {
         producer.sendProjectUpdatedEvent(event);
     }
 
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
     public void handleProjectDeleted(ProjectDeletedEvent event) {
         producer.sendProjectDeletedEvent(event);
     }
 
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
     public void handleMemberAdded(ProjectMemberAddedEvent event) {
         producer.sendProjectMemberAddedEvent(event);
     }
 
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
     public void handleMemberRemoved(ProjectMemberRemovedEvent event) {
         producer.sendProjectMemberRemovedEvent(event);
     }
@@ -0,0 +1,47 @@
+-- Базовая схема board-service в том виде, в котором ее создавал ddl-auto=update.
+-- На существующих базах не выполняется (baseline-on-migrate с версией 1), на новых создает таблицы с нуля.
+
+CREATE SCHEMA IF NOT EXISTS board_service_schema;
+
+CREATE TABLE IF NOT EXISTS board_service_schema.projects (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    owner_id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    created_at TIMESTAMP(6),
+    deleted_at TIMESTAMP(6),
+    invite_token VARCHAR(255) UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS board_service_schema.project_roles (
+    id BIGINT NOT NULL PRIMARY KEY,
+    project_id BIGINT NOT NULL REFERENCES board_service_schema.projects (id),
+    name VARCHAR(255) NOT NULL,
+    is_default BOOLEAN,
+    is_owner BOOLEAN
+);
+
+CREATE TABLE IF NOT EXISTS board_service_schema.role_permissions (
+    id BIGINT NOT NULL PRIMARY KEY,
+    role_id BIGINT NOT NULL REFERENCES board_service_schema.project_roles (id),
+    entity_type VARCHAR(255) NOT NULL,
+    action_type VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS board_service_schema.project_members (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    project_id BIGINT NOT NULL REFERENCES board_service_schema.projects (id),
+    role_id BIGINT REFERENCES board_service_schema.project_roles (id)
+);
+
+CREATE TABLE IF NOT EXISTS board_service_schema.project_avatars (
+    project_id BIGINT NOT NULL PRIMARY KEY REFERENCES board_service_schema.projects (id),
+    data BYTEA NOT NULL,
+    mime_type VARCHAR(255) NOT NULL,
+    file_size INTEGER NOT NULL,
+    filename VARCHAR(255) NOT NULL UNIQUE
+);
+
+CREATE SEQUENCE IF NOT EXISTS board_service_schema.project_roles_id_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE IF NOT EXISTS board_service_schema.role_permission_id_seq START WITH 1 INCREMENT BY 50;
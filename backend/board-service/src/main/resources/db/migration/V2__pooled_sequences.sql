@@ -0,0 +1,30 @@
+-- Последовательности для id с пулом (allocationSize в @SequenceGenerator).
+-- Операции идемпотентны: на базах, созданных через ddl-auto=update, часть объектов уже существует.
+-- align_sequence сдвигает последовательность за MAX(id) таблицы, если таблица уже была заполнена через IDENTITY.
+
+CREATE SCHEMA IF NOT EXISTS board_service_schema;
+
+CREATE OR REPLACE FUNCTION board_service_schema.align_sequence(table_name TEXT, seq_name TEXT, step INT)
+RETURNS void AS '
+DECLARE
+    max_id BIGINT;
+    current_hi BIGINT;
+BEGIN
+    IF to_regclass(table_name) IS NULL THEN
+        RETURN;
+    END IF;
+    EXECUTE format(''SELECT COALESCE(MAX(id), 0) FROM %s'', table_name) INTO max_id;
+    EXECUTE format(''SELECT last_value FROM %s'', seq_name) INTO current_hi;
+    IF current_hi - step < max_id THEN
+        PERFORM setval(seq_name, max_id + step, false);
+    END IF;
+END;
+' LANGUAGE plpgsql;
+
+CREATE SEQUENCE IF NOT EXISTS board_service_schema.project_members_seq START WITH 1 INCREMENT BY 20;
+SELECT board_service_schema.align_sequence('board_service_schema.project_members', 'board_service_schema.project_members_seq', 20);
+
+-- базовые роли проекта создаются по 5 за раз: один nextval на проект вместо пяти
+CREATE SEQUENCE IF NOT EXISTS board_service_schema.project_roles_id_seq START WITH 1 INCREMENT BY 5;
+ALTER SEQUENCE board_service_schema.project_roles_id_seq INCREMENT BY 5;
+SELECT board_service_schema.align_sequence('board_service_schema.project_roles', 'board_service_schema.project_roles_id_seq', 5);
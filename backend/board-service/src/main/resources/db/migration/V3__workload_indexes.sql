@@ -0,0 +1,25 @@
+-- Индексы под запросы репозиториев. CONCURRENTLY не блокирует запись в таблицы,
+-- поэтому миграция выполняется вне транзакции (V3__workload_indexes.sql.conf).
+-- Если построение прервалось, индекс остается INVALID: его нужно удалить и перезапустить сервис,
+-- SchemaIndexVerifier не даст стартовать с невалидным индексом.
+-- projects.invite_token (findByInviteToken) уже покрыт уникальным ограничением.
+
+-- findByUserIdAndProject_Id / existsByProject_IdAndUserId / findRoleIdByUserIdAndProjectId / findAllByUserId
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_project_members_user_project
+    ON board_service_schema.project_members (user_id, project_id);
+
+-- findByProjectId / countByProjectId
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_project_members_project_id
+    ON board_service_schema.project_members (project_id);
+
+-- findAllByRoleId / findAllByRole_IdAndProject_Id
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_project_members_role_id
+    ON board_service_schema.project_members (role_id);
+
+-- роли проекта (findByProject_IdWithPermissions, findRoleIdsByProjectId)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_project_roles_project_id
+    ON board_service_schema.project_roles (project_id);
+
+-- права роли (findByRoleId, deleteByRoleId, @BatchSize)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_role_permissions_role_id
+    ON board_service_schema.role_permissions (role_id);
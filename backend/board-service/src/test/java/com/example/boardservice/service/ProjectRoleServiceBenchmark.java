@@ -0,0 +1,134 @@
+package com.example.boardservice.service;
+
+import com.example.boardservice.dto.models.*;
+import com.example.boardservice.repository.ProjectRoleRepository;
+import jakarta.persistence.EntityManager;
+import org.flywaydb.core.Flyway;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+// ProjectRoleService.createDefaultRoles (5 ролей и их права) на Postgres в Testcontainers, схема из миграций Flyway
+// identity - id ролей и прав выдает база (IDENTITY из benchmark/identity-orm.xml): каждый persist сразу делает INSERT,
+// пачки не собираются; pooled - текущие @SequenceGenerator с пулом, INSERT уходят пачками по batch_size
+// после прогона печатается число JDBC-запросов на один проект (статистика Hibernate)
+// нужен Docker; запуск: mvn -Pbenchmark test-compile exec:exec -Djmh.include=ProjectRoleService
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectRoleServiceBenchmark {
+
+    private static final String SCHEMA = "board_service_schema";
+
+    @Param({"identity", "pooled"})
+    public String idMapping;
+
+    private PostgreSQLContainer<?> postgres;
+    private SessionFactory sessionFactory;
+    private EntityManager entityManager;
+    private ProjectRoleService projectRoleService;
+    private Long projectId;
+    private long projects;
+
+    @Setup
+    public void setUp() {
+        postgres = new PostgreSQLContainer<>("postgres:15")
+                .withUrlParam("reWriteBatchedInserts", "true");
+        postgres.start();
+
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .schemas(SCHEMA)
+                .defaultSchema(SCHEMA)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        Configuration configuration = new Configuration()
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, postgres.getJdbcUrl())
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, postgres.getUsername())
+                .setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, postgres.getPassword())
+                .setProperty(AvailableSettings.DEFAULT_SCHEMA, SCHEMA)
+                // как в application.properties
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "50")
+                .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+                .setProperty(AvailableSettings.USE_SECOND_LEVEL_CACHE, "false")
+                .setProperty(AvailableSettings.GENERATE_STATISTICS, "true")
+                .addAnnotatedClass(Project.class)
+                .addAnnotatedClass(ProjectAvatar.class)
+                .addAnnotatedClass(ProjectMember.class)
+                .addAnnotatedClass(ProjectRole.class)
+                .addAnnotatedClass(RolePermission.class);
+        if (idMapping.equals("identity")) {
+            // в миграциях у этих таблиц нет генерации id на стороне базы
+            execute("ALTER TABLE " + SCHEMA + ".project_roles ALTER COLUMN id ADD GENERATED BY DEFAULT AS IDENTITY");
+            execute("ALTER TABLE " + SCHEMA + ".role_permissions ALTER COLUMN id ADD GENERATED BY DEFAULT AS IDENTITY");
+            configuration.addResource("benchmark/identity-orm.xml");
+        }
+        sessionFactory = configuration.buildSessionFactory();
+        entityManager = sessionFactory.createEntityManager();
+
+        PermissionMatrixService permissionMatrixService = RolePermissionFactoryBenchmark.permissionMatrixService();
+        ProjectRoleRepository roleRepository =
+                new JpaRepositoryFactory(entityManager).getRepository(ProjectRoleRepository.class);
+        // createDefaultRoles использует только репозиторий ролей и фабрику прав
+        projectRoleService = new ProjectRoleService(roleRepository, null, null, permissionMatrixService,
+                null, null, null, new RolePermissionFactory(permissionMatrixService));
+
+        entityManager.getTransaction().begin();
+        Project project = Project.builder().ownerId(1L).name("benchmark").build();
+        entityManager.persist(project);
+        entityManager.getTransaction().commit();
+        projectId = project.getId();
+
+        sessionFactory.getStatistics().clear();
+    }
+
+    @TearDown
+    public void tearDown() {
+        Statistics statistics = sessionFactory.getStatistics();
+        System.out.printf("%n%s: %.1f JDBC statements, %.1f inserted entities per project (%d projects)%n",
+                idMapping,
+                (double) statistics.getPrepareStatementCount() / projects,
+                (double) statistics.getEntityInsertCount() / projects,
+                projects);
+
+        entityManager.close();
+        sessionFactory.close();
+        postgres.stop();
+    }
+
+    // транзакция как у @Transactional на сервисе: роли и права уходят в базу на коммите
+    @Benchmark
+    public ProjectRole createDefaultRoles() {
+        entityManager.getTransaction().begin();
+        ProjectRole owner = projectRoleService.createDefaultRoles(projectId);
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+        projects++;
+        return owner;
+    }
+
+    private void execute(String sql) {
+        try (Connection connection = DriverManager.getConnection(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to execute: " + sql, e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.boardservice.service;
+
+import com.example.boardservice.config.PermissionMatrixProperties;
+import com.example.boardservice.dto.models.ProjectRole;
+import com.example.boardservice.dto.models.RolePermission;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// права пяти базовых ролей при создании проекта: копирование готовых шаблонов
+// против пересчета наборов прав по матрице, как было до шаблонов
+// запуск: mvn -Pbenchmark test-compile exec:exec -Djmh.include=RolePermissionFactory
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RolePermissionFactoryBenchmark {
+
+    private PermissionMatrixService permissionMatrixService;
+    private RolePermissionFactory factory;
+    private List<ProjectRole> roles;
+
+    @Setup
+    public void setUp() {
+        permissionMatrixService = permissionMatrixService();
+        factory = new RolePermissionFactory(permissionMatrixService);
+        roles = RolePermissionFactory.DEFAULT_ROLES.stream()
+                .map(name -> ProjectRole.builder().name(name).isDefault(true).build())
+                .toList();
+    }
+
+    // матрица из application.properties
+    static PermissionMatrixService permissionMatrixService() {
+        PermissionMatrixProperties properties = new PermissionMatrixProperties();
+        properties.setMatrix(Map.of(
+                "PROJECT", List.of("VIEW"),
+                "ISSUE", List.of("VIEW", "CREATE", "EDIT", "DELETE", "ASSIGN", "TAKE_ISSUE", "CREATE_SUBTASK",
+                        "SUBMIT_FOR_REVIEW", "TRANSITION_CODE_REVIEW", "TRANSITION_QA", "FULL_TRANSITION"),
+                "SPRINT", List.of("VIEW", "MANAGE"),
+                "COMMENT", List.of("VIEW", "CREATE", "EDIT_OWN", "DELETE_OWN"),
+                "ATTACHMENT", List.of("VIEW", "CREATE", "DELETE", "DELETE_OWN"),
+                "TAG", List.of("VIEW", "APPLY", "CREATE", "EDIT", "DELETE"),
+                "ANALYTICS", List.of("VIEW"),
+                "LOGS", List.of("VIEW")
+        ));
+        return new PermissionMatrixService(properties);
+    }
+
+    @Benchmark
+    public void fromTemplates(Blackhole blackhole) {
+        createAll(factory, blackhole);
+    }
+
+    @Benchmark
+    public void recomputedPerProject(Blackhole blackhole) {
+        createAll(new RolePermissionFactory(permissionMatrixService), blackhole);
+    }
+
+    private void createAll(RolePermissionFactory factory, Blackhole blackhole) {
+        for (ProjectRole role : roles) {
+            Set<RolePermission> permissions = factory.createPermissions(role);
+            blackhole.consume(permissions);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.gateway.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.ExchangeTypes;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.Exchange;
+import org.springframework.amqp.rabbit.annotation.Queue;
+import org.springframework.amqp.rabbit.annotation.QueueBinding;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ActivityEventListener {
+
+    // у каждого инстанса гейтвея своя временная очередь, привязанная ко всем событиям activity.exchange
+    // из события нужен только projectId, по нему сбрасываются закэшированные ответы
+    // projectId берется из routing key ({сервис}.{projectId}.{событие}), тело читается только для старых ключей
+
+    private final ResponseCacheService cacheService;
+    private final ObjectMapper objectMapper;
+
+    @RabbitListener(bindings = @QueueBinding(
+            value = @Queue(exclusive = "true", autoDelete = "true"),
+            exchange = @Exchange(value = "activity.exchange", type = ExchangeTypes.TOPIC),
+            key = "#"
+    ))
+    public void onActivityEvent(Message message) {
+        String routingKey = message.getMessageProperties().getReceivedRoutingKey();
+        Long projectId = projectIdOf(routingKey);
+
+        if (projectId == null) {
+            projectId = projectIdOf(message, routingKey);
+        }
+
+        log.debug("Activity event {} for project {}, evicting cached responses", routingKey, projectId);
+        cacheService.onActivityEvent(routingKey, projectId);
+    }
+
+    private static Long projectIdOf(String routingKey) {
+        String[] words = routingKey.split("\\.", 3);
+        if (words.length < 3 || words[1].isEmpty() || !words[1].chars().allMatch(Character::isDigit)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(words[1]);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private Long projectIdOf(Message message, String routingKey) {
+        try {
+            JsonNode projectIdNode = objectMapper.readTree(message.getBody()).get("projectId");
+            if (projectIdNode != null && projectIdNode.canConvertToLong()) {
+                return projectIdNode.asLong();
+            }
+        } catch (IOException e) {
+            log.warn("Failed to read activity event {}: {}", routingKey, e.getMessage());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.gateway.cache;
+
+import com.example.gateway.cache.ResponseCacheService.CachedResponse;
+import com.example.gateway.cache.ResponseCacheService.Region;
+import com.example.gateway.security.JwtAuthenticationFilter;
+import com.example.gateway.security.SkipPathMatcher;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.CRC32;
+
+@Component
+@Slf4j
+public class ResponseCacheFilter extends AbstractGatewayFilterFactory<ResponseCacheFilter.Config> {
+
+    // кэш GET-ответов на уровне гейтвея, включается на маршруте явно (filters[n].name=ResponseCacheFilter)
+    // ключ: userId из токена + путь + query, поэтому фильтр должен стоять после JwtAuthenticationFilter
+    // бэкенд управляет кэшированием через Cache-Control (no-store/no-cache/max-age/s-maxage), ETag отдается клиенту для 304
+    // private не мешает: запись кэша принадлежит одному пользователю, как и приватный кэш браузера
+    // инвалидация: события из activity.exchange по projectId и любой изменяющий запрос к тому же ресурсу
+
+    private static final String CACHE_HEADER = "X-Cache";
+    private static final String PROJECTS_PREFIX = "/api/projects/";
+    private static final List<String> CACHED_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE,
+            HttpHeaders.CACHE_CONTROL,
+            HttpHeaders.ETAG
+    );
+
+    private final ResponseCacheService cacheService;
+
+    public ResponseCacheFilter(ResponseCacheService cacheService) {
+        super(Config.class);
+        this.cacheService = cacheService;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        SkipPathMatcher cachedPaths = SkipPathMatcher.compile(config.getPaths());
+        Region region = cacheService.region(
+                config.getRouteId(), config.getTtl(), config.getMaxEntries(), config.getEvictOn());
+
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            String path = request.getURI().getPath();
+
+            if (request.getMethod() != HttpMethod.GET) {
+                String resource = resourceOf(path);
+                region.evictResource(resource);
+                return chain.filter(exchange)
+                        .doFinally(signal -> region.evictResource(resource));
+            }
+
+            Long userId = exchange.getAttribute(JwtAuthenticationFilter.USER_ID_ATTRIBUTE);
+            if (userId == null || !cachedPaths.matches(path)) {
+                return chain.filter(exchange);
+            }
+
+            String rawQuery = request.getURI().getRawQuery();
+            String key = userId + ":" + request.getURI().getRawPath() + (rawQuery != null ? "?" + rawQuery : "");
+
+            if (!isNoCacheRequest(request)) {
+                CachedResponse cached = region.get(key);
+                if (cached != null) {
+                    log.debug("Cache hit for user: {} path: {}", userId, path);
+                    return writeCached(exchange, cached);
+                }
+            }
+
+            ServerHttpResponse capturing = capture(exchange, region, key, config);
+            return chain.filter(exchange.mutate().response(capturing).build());
+        };
+    }
+
+    private Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().putAll(cached.headers());
+        response.getHeaders().set(CACHE_HEADER, "HIT");
+
+        List<String> ifNoneMatch = exchange.getRequest().getHeaders().getIfNoneMatch();
+        if (ifNoneMatch.contains(cached.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(HttpStatus.OK);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    private ServerHttpResponse capture(ServerWebExchange exchange, Region region, String key, Config config) {
+        Long projectId = projectIdOf(exchange.getRequest());
+        String resource = resourceOf(exchange.getRequest().getURI().getPath());
+
+        return new ServerHttpResponseDecorator(exchange.getResponse()) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                Duration ttl = effectiveTtl(getHeaders().getCacheControl(), config.getTtl());
+                if (getStatusCode() != HttpStatus.OK || ttl == null) {
+                    return super.writeWith(body);
+                }
+
+                return DataBufferUtils.join(body).flatMap(joined -> {
+                    byte[] bytes = new byte[joined.readableByteCount()];
+                    joined.read(bytes);
+                    DataBufferUtils.release(joined);
+
+                    if (bytes.length <= config.getMaxBodySize()) {
+                        if (getHeaders().getETag() == null) {
+                            getHeaders().setETag(etagOf(bytes));
+                        }
+
+                        HttpHeaders headers = new HttpHeaders();
+                        for (String name : CACHED_HEADERS) {
+                            List<String> values = getHeaders().get(name);
+                            if (values != null) {
+                                headers.put(name, values);
+                            }
+                        }
+
+                        region.put(key, new CachedResponse(
+                                projectId,
+                                resource,
+                                HttpHeaders.readOnlyHttpHeaders(headers),
+                                bytes,
+                                getHeaders().getETag(),
+                                System.currentTimeMillis() + ttl.toMillis()
+                        ));
+                    }
+
+                    getHeaders().set(CACHE_HEADER, "MISS");
+                    return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                });
+            }
+        };
+    }
+
+    private static boolean isNoCacheRequest(ServerHttpRequest request) {
+        String cacheControl = request.getHeaders().getCacheControl();
+        return (cacheControl != null && cacheControl.toLowerCase(Locale.ROOT).contains("no-cache"))
+                || "no-cache".equalsIgnoreCase(request.getHeaders().getFirst(HttpHeaders.PRAGMA));
+    }
+
+    // null - ответ кэшировать нельзя
+    private static Duration effectiveTtl(String cacheControl, Duration maxTtl) {
+        if (cacheControl == null) {
+            return maxTtl;
+        }
+
+        Duration ttl = maxTtl;
+        for (String directive : cacheControl.toLowerCase(Locale.ROOT).split(",")) {
+            directive = directive.trim();
+            if (directive.equals("no-store") || directive.equals("no-cache")) {
+                return null;
+            }
+            if (directive.startsWith("max-age=") || directive.startsWith("s-maxage=")) {
+                try {
+                    long seconds = Long.parseLong(directive.substring(directive.indexOf('=') + 1));
+                    if (seconds <= 0) {
+                        return null;
+                    }
+                    if (seconds < ttl.toSeconds()) {
+                        ttl = Duration.ofSeconds(seconds);
+                    }
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return ttl;
+    }
+
+    private static String etagOf(byte[] body) {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return "W/\"" + Long.toHexString(crc.getValue()) + "-" + Integer.toHexString(body.length) + "\"";
+    }
+
+    // /api/projects/{id}/... или ?projectId=
+    private static Long projectIdOf(ServerHttpRequest request) {
+        String value = request.getQueryParams().getFirst("projectId");
+
+        String path = request.getURI().getPath();
+        if (value == null && path.startsWith(PROJECTS_PREFIX)) {
+            int end = path.indexOf('/', PROJECTS_PREFIX.length());
+            value = path.substring(PROJECTS_PREFIX.length(), end < 0 ? path.length() : end);
+        }
+
+        if (value == null || value.isEmpty() || !value.chars().allMatch(Character::isDigit)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // первые два сегмента пути: "/api/tags/5" -> "/api/tags"
+    private static String resourceOf(String path) {
+        int first = path.indexOf('/', 1);
+        if (first < 0) {
+            return path;
+        }
+        int second = path.indexOf('/', first + 1);
+        return second < 0 ? path : path.substring(0, second);
+    }
+
+    @Data
+    public static class Config implements HasRouteId {
+        private String routeId;
+        private List<String> paths = List.of();
+        private List<String> evictOn = List.of();
+        private Duration ttl = Duration.ofSeconds(30);
+        private long maxEntries = 10_000;
+        private int maxBodySize = 256 * 1024;
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.gateway.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@Slf4j
+public class ResponseCacheService {
+
+    // кэш ответов гейтвея, разбит на регионы по маршрутам (регион создается фильтром ResponseCacheFilter)
+    // записи индексируются по projectId и по ресурсу ("/api/projects", "/api/tags"),
+    // чтобы инвалидация по событию или по изменяющему запросу не обходила весь кэш
+
+    private final Map<String, Region> regions = new ConcurrentHashMap<>();
+
+    public Region region(String routeId, Duration ttl, long maxEntries, List<String> evictOn) {
+        return regions.computeIfAbsent(routeId, id -> new Region(id, ttl, maxEntries, evictOn));
+    }
+
+    // вызывается при получении события из activity.exchange
+    public void onActivityEvent(String routingKey, Long projectId) {
+        for (Region region : regions.values()) {
+            if (region.evictsOn(routingKey)) {
+                region.evictProject(projectId);
+            }
+        }
+    }
+
+    public record CachedResponse(
+            Long projectId,
+            String resource,
+            HttpHeaders headers,
+            byte[] body,
+            String etag,
+            long expiresAt
+    ) {
+        public boolean isExpired() {
+            return expiresAt <= System.currentTimeMillis();
+        }
+    }
+
+    public static final class Region {
+        private final String routeId;
+        private final List<String> evictOn;
+        private final Cache<String, CachedResponse> entries;
+        private final Map<Long, Set<String>> keysByProject = new ConcurrentHashMap<>();
+        private final Map<String, Set<String>> keysByResource = new ConcurrentHashMap<>();
+        private final Set<String> untaggedKeys = ConcurrentHashMap.newKeySet();
+
+        private Region(String routeId, Duration ttl, long maxEntries, List<String> evictOn) {
+            this.routeId = routeId;
+            this.evictOn = List.copyOf(evictOn);
+            this.entries = CacheBuilder.<String, CachedResponse>newBuilder()
+                    .maximumSize(maxEntries)
+                    .expireAfterWrite(ttl)
+                    .removalListener(this::unindex)
+                    .build();
+        }
+
+        public CachedResponse get(String key) {
+            CachedResponse cached = entries.getIfPresent(key);
+            if (cached != null && cached.isExpired()) {
+                entries.invalidate(key);
+                return null;
+            }
+            return cached;
+        }
+
+        public void put(String key, CachedResponse response) {
+            if (response.projectId() != null) {
+                addToIndex(keysByProject, response.projectId(), key);
+            } else {
+                untaggedKeys.add(key);
+            }
+            addToIndex(keysByResource, response.resource(), key);
+            entries.put(key, response);
+        }
+
+        public void evictProject(Long projectId) {
+            if (projectId != null) {
+                Set<String> keys = keysByProject.remove(projectId);
+                if (keys != null) {
+                    entries.invalidateAll(keys);
+                }
+            }
+            // записи без projectId (например, /api/projects/me) могут содержать данные любого проекта
+            entries.invalidateAll(Set.copyOf(untaggedKeys));
+        }
+
+        public void evictResource(String resource) {
+            Set<String> keys = keysByResource.remove(resource);
+            if (keys != null) {
+                log.debug("Evicting {} cached responses of {} in route {}", keys.size(), resource, routeId);
+                entries.invalidateAll(keys);
+            }
+        }
+
+        private boolean evictsOn(String routingKey) {
+            for (String prefix : evictOn) {
+                if (routingKey.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void unindex(RemovalNotification<String, CachedResponse> notification) {
+            String key = notification.getKey();
+            CachedResponse response = notification.getValue();
+            if (key == null || response == null) {
+                return;
+            }
+
+            // ключ мог быть уже перезаписан новой записью, индекс снимаем только при реальном вытеснении
+            if (notification.getCause() == RemovalCause.REPLACED) {
+                return;
+            }
+
+            if (response.projectId() != null) {
+                removeFromIndex(keysByProject, response.projectId(), key);
+            } else {
+                untaggedKeys.remove(key);
+            }
+            removeFromIndex(keysByResource, response.resource(), key);
+        }
+
+        private static <K> void addToIndex(Map<K, Set<String>> index, K tag, String key) {
+            index.compute(tag, (t, keys) -> {
+                Set<String> result = keys != null ? keys : ConcurrentHashMap.newKeySet();
+                result.add(key);
+                return result;
+            });
+        }
+
+        private static <K> void removeFromIndex(Map<K, Set<String>> index, K tag, String key) {
+            index.computeIfPresent(tag, (t, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+}
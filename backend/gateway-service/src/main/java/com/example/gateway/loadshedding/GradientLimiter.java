@@ -0,0 +1,108 @@
+package com.example.gateway.loadshedding;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class GradientLimiter {
+
+    // адаптивный лимит одновременных запросов (по мотивам Gradient2 из Netflix concurrency-limits)
+    // сравнивает короткое среднее время ответа с длинным (базовым): если бэкенд замедляется,
+    // градиент < 1 и лимит уменьшается; запас на очередь sqrt(limit) позволяет лимиту расти, пока задержки стабильны
+
+    private static final double TOLERANCE = 1.5;
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final int LONG_WINDOW = 600;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int windowSize;
+    private final double smoothing;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    // состояние окна, изменяется только под synchronized
+    private double longRtt;
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    private boolean windowDropped;
+
+    public GradientLimiter(int initialLimit, int minLimit, int maxLimit, int windowSize, double smoothing) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.windowSize = windowSize;
+        this.smoothing = smoothing;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // rttNanos < 0 - результат не учитывается (например, клиент закрыл соединение)
+    public void release(long rttNanos, boolean dropped) {
+        int current = inFlight.getAndDecrement();
+        if (rttNanos >= 0) {
+            onSample(rttNanos, current, dropped);
+        }
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtRelease, boolean dropped) {
+        windowRttSum += rttNanos;
+        windowSamples++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtRelease);
+        windowDropped |= dropped;
+
+        if (windowSamples < windowSize) {
+            return;
+        }
+
+        double shortRtt = (double) windowRttSum / windowSamples;
+        int maxInFlight = windowMaxInFlight;
+        boolean anyDropped = windowDropped;
+        windowRttSum = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+        windowDropped = false;
+
+        longRtt = longRtt == 0
+                ? shortRtt
+                : longRtt + (shortRtt - longRtt) * (2.0 / (LONG_WINDOW / (double) windowSize + 1));
+
+        // бэкенд восстановился после долгой деградации - базовое время подтягиваем быстрее
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        double current = limit;
+        double newLimit;
+        if (anyDropped) {
+            newLimit = current * BACKOFF_RATIO;
+        } else if (maxInFlight < current / 2) {
+            // лимит не упирается в нагрузку, по такому окну нельзя судить о пропускной способности
+            return;
+        } else {
+            double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+            newLimit = current * gradient + Math.sqrt(current);
+        }
+
+        newLimit = current * (1 - smoothing) + newLimit * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.gateway.ratelimit;
+
+import com.example.gateway.ratelimit.RateLimiterService.Budget;
+import com.example.gateway.security.JwtAuthenticationFilter;
+import com.example.gateway.security.SkipPathMatcher;
+import com.example.gateway.util.ErrorResponseWriter;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+@Component
+@Slf4j
+public class RateLimitFilter extends AbstractGatewayFilterFactory<RateLimitFilter.Config> {
+
+    // ограничение частоты запросов на маршруте: бюджет на пользователя (userId из токена),
+    // для публичных путей (логин, регистрация) - на IP клиента
+    // на одном маршруте можно повесить несколько фильтров с разными name и paths (отдельные бюджеты)
+
+    private final RateLimiterService limiter;
+
+    public RateLimitFilter(RateLimiterService limiter) {
+        super(Config.class);
+        this.limiter = limiter;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        SkipPathMatcher limitedPaths = config.getPaths().isEmpty() ? null : SkipPathMatcher.compile(config.getPaths());
+        Budget budget = new Budget(config.getReplenishRate(), config.getBurstCapacity(), config.getLeaseSize());
+        String bucketPrefix = config.getRouteId() + ":" + config.getName() + ":";
+
+        return (exchange, chain) -> {
+            String path = exchange.getRequest().getURI().getPath();
+            if (limitedPaths != null && !limitedPaths.matches(path)) {
+                return chain.filter(exchange);
+            }
+
+            String key = bucketPrefix + subjectOf(exchange);
+
+            return limiter.tryAcquire(key, budget).flatMap(decision -> {
+                if (decision.allowed()) {
+                    return chain.filter(exchange);
+                }
+
+                long retryAfterSeconds = Math.max(1, (decision.retryAfterMillis() + 999) / 1000);
+                log.debug("Rate limit exceeded: {} for path: {}", key, path);
+
+                exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+                return ErrorResponseWriter.write(exchange, HttpStatus.TOO_MANY_REQUESTS, "Rate limit exceeded");
+            });
+        };
+    }
+
+    private static String subjectOf(ServerWebExchange exchange) {
+        Long userId = exchange.getAttribute(JwtAuthenticationFilter.USER_ID_ATTRIBUTE);
+        if (userId != null) {
+            return "user:" + userId;
+        }
+
+        InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+        String ip = remote != null && remote.getAddress() != null
+                ? remote.getAddress().getHostAddress()
+                : "unknown";
+        return "ip:" + ip;
+    }
+
+    @Data
+    public static class Config implements HasRouteId {
+        private String routeId;
+        private String name = "default";
+        private List<String> paths = List.of();
+        private double replenishRate = 20;
+        private long burstCapacity = 40;
+        private long leaseSize = 5;
+    }
+}
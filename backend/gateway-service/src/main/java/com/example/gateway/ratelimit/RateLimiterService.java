@@ -0,0 +1,104 @@
+package com.example.gateway.ratelimit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+@Service
+@Slf4j
+public class RateLimiterService {
+
+    // token bucket в Redis (атомарный lua-скрипт), общий для всех инстансов гейтвея
+    // чтобы не ходить в Redis на каждый запрос, гейтвей берет токены пачкой (lease) и расходует их локально,
+    // а после отказа запоминает время до следующего токена и отклоняет запросы без обращения к Redis
+
+    private static final String KEY_PREFIX = "ratelimit:";
+    // неиспользованные локальные токены сгорают, чтобы инстанс не держал чужой бюджет
+    static final long LEASE_TTL_MILLIS = 1000;
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> TOKEN_BUCKET_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/token_bucket.lua"), List.class);
+
+    private final ReactiveRedisTemplate<String, String> redisTemplate;
+    private final Cache<String, LocalBucket> localBuckets = CacheBuilder.newBuilder()
+            .expireAfterAccess(Duration.ofMinutes(5))
+            .maximumSize(100_000)
+            .build();
+
+    public RateLimiterService(ReactiveRedisTemplate<String, String> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    public Mono<Decision> tryAcquire(String key, Budget budget) {
+        LocalBucket local = localBuckets.asMap().computeIfAbsent(key, k -> new LocalBucket());
+        long now = System.currentTimeMillis();
+
+        Decision localDecision = local.tryConsume(now);
+        if (localDecision != null) {
+            return Mono.just(localDecision);
+        }
+
+        List<String> args = List.of(
+                String.valueOf(budget.replenishRate()),
+                String.valueOf(budget.burstCapacity()),
+                String.valueOf(budget.leaseSize())
+        );
+
+        return redisTemplate.execute(TOKEN_BUCKET_SCRIPT, List.of(KEY_PREFIX + key), args)
+                .next()
+                .map(result -> local.refill(
+                        ((Number) result.get(0)).longValue(),
+                        ((Number) result.get(1)).longValue(),
+                        now))
+                .onErrorResume(e -> {
+                    // при недоступности Redis не блокируем трафик
+                    log.warn("Rate limiter unavailable for {}: {}", key, e.getMessage());
+                    return Mono.just(Decision.ALLOWED);
+                })
+                .defaultIfEmpty(Decision.ALLOWED);
+    }
+
+    public record Budget(double replenishRate, long burstCapacity, long leaseSize) {}
+
+    public record Decision(boolean allowed, long retryAfterMillis) {
+        static final Decision ALLOWED = new Decision(true, 0);
+    }
+
+    static final class LocalBucket {
+        private long leased;
+        private long leaseExpiresAt;
+        private long blockedUntil;
+
+        // null - локально решить нельзя, нужен Redis
+        synchronized Decision tryConsume(long now) {
+            if (now < blockedUntil) {
+                return new Decision(false, blockedUntil - now);
+            }
+            if (leased > 0 && now < leaseExpiresAt) {
+                leased--;
+                return Decision.ALLOWED;
+            }
+            leased = 0;
+            return null;
+        }
+
+        synchronized Decision refill(long granted, long retryAfterMillis, long now) {
+            if (granted > 0) {
+                leased += granted - 1;
+                leaseExpiresAt = now + LEASE_TTL_MILLIS;
+                return Decision.ALLOWED;
+            }
+            blockedUntil = now + retryAfterMillis;
+            return new Decision(false, retryAfterMillis);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.example.gateway.security;
 import com.example.gateway.service.TokenService;
 import com.example.gateway.service.TokenService.JwtClaims;
 import com.example.gateway.service.TokenBlacklistService;
+import com.example.gateway.util.ErrorResponseWriter;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,7 +16,6 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.time.Instant;
 import java.util.List;
 
 @Component
@@ -38,6 +38,9 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
     private final TokenBlacklistService blacklistService;
     private static final String BEARER_PREFIX = "Bearer ";
 
+    // userId из проверенного токена, для следующих фильтров маршрута (клиентскому X-User-Id верить нельзя)
+    public static final String USER_ID_ATTRIBUTE = "gateway.userId";
+
     public JwtAuthenticationFilter(TokenService tokenService, TokenBlacklistService blacklistService) {
         super(Config.class);
         this.tokenService = tokenService;
@@ -46,6 +49,8 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
 
     @Override
     public GatewayFilter apply(Config config) {
+        SkipPathMatcher skipPaths = SkipPathMatcher.compile(config.getSkipPaths());
+
         return (exchange, chain) -> {
             String path = exchange.getRequest().getURI().getPath();
             String method = String.valueOf(exchange.getRequest().getMethod());
@@ -56,9 +61,7 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
             }
 
             // скип публичных путей
-            if (config.getSkipPaths().stream().anyMatch(skipPath ->
-                    path.equals(skipPath) || path.matches(skipPath.replace("*", ".*"))
-            )) {
+            if (skipPaths.matches(path)) {
                 log.debug("Skipping JWT check for public path: {}", path);
                 return chain.filter(exchange);
             }
@@ -95,6 +98,8 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
                                     }))
                                     .build();
 
+                            mutatedExchange.getAttributes().put(USER_ID_ATTRIBUTE, claims.userId());
+
                             log.debug("Authenticated user: {} for path: {}", claims.userId(), path);
                             return chain.filter(mutatedExchange);
 
@@ -108,20 +113,7 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
 
     // метод для быстрой отправки ответа сервера в случае ошибки
     private Mono<Void> reject(ServerWebExchange exchange, HttpStatus status, String message) {
-        exchange.getResponse().setStatusCode(status);
-        exchange.getResponse().getHeaders().add(HttpHeaders.CONTENT_TYPE, "application/json");
-
-        String body = String.format(
-                "{\"timestamp\":\"%s\",\"status\":%d,\"error\":\"%s\",\"message\":\"%s\"}",
-                Instant.now().toString(),
-                status.value(),
-                status.getReasonPhrase(),
-                message
-        );
-
-        return exchange.getResponse().writeWith(
-                Mono.just(exchange.getResponse().bufferFactory().wrap(body.getBytes()))
-        );
+        return ErrorResponseWriter.write(exchange, status, message);
     }
 
     @Data
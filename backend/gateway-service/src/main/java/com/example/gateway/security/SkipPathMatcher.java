@@ -0,0 +1,70 @@
+package com.example.gateway.security;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+public final class SkipPathMatcher {
+    // скомпилированный набор публичных путей маршрута, собирается один раз при конфигурации фильтра
+    // точные пути проверяются через HashSet, пути вида "/prefix/*" через startsWith,
+    // остальные шаблоны со звездочками компилируются в регулярку заранее, а не на каждый запрос
+
+    private static final SkipPathMatcher EMPTY = new SkipPathMatcher(Set.of(), new String[0], new Pattern[0]);
+
+    private final Set<String> exact;
+    private final String[] prefixes;
+    private final Pattern[] patterns;
+
+    private SkipPathMatcher(Set<String> exact, String[] prefixes, Pattern[] patterns) {
+        this.exact = exact;
+        this.prefixes = prefixes;
+        this.patterns = patterns;
+    }
+
+    public static SkipPathMatcher compile(List<String> skipPaths) {
+        if (skipPaths == null || skipPaths.isEmpty()) {
+            return EMPTY;
+        }
+
+        Set<String> exact = new HashSet<>();
+        List<String> prefixes = new ArrayList<>();
+        List<Pattern> patterns = new ArrayList<>();
+
+        for (String skipPath : skipPaths) {
+            int wildcard = skipPath.indexOf('*');
+            if (wildcard < 0) {
+                exact.add(skipPath);
+            } else if (skipPath.chars().skip(wildcard).allMatch(c -> c == '*')) {
+                prefixes.add(skipPath.substring(0, wildcard));
+            } else {
+                exact.add(skipPath);
+                patterns.add(Pattern.compile(skipPath.replace("*", ".*")));
+            }
+        }
+
+        return new SkipPathMatcher(
+                Set.copyOf(exact),
+                prefixes.toArray(String[]::new),
+                patterns.toArray(Pattern[]::new)
+        );
+    }
+
+    public boolean matches(String path) {
+        if (exact.contains(path)) {
+            return true;
+        }
+        for (String prefix : prefixes) {
+            if (path.startsWith(prefix)) {
+                return true;
+            }
+        }
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(path).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
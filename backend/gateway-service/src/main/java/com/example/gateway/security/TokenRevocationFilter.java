@@ -42,7 +42,7 @@ public class TokenRevocationFilter implements GlobalFilter, Ordered {
                     if (exchange.getResponse().getStatusCode() == HttpStatus.OK) {
                         if (token != null) {
                             return blacklistService.blacklist(token, Duration.ofMinutes(15))
-                                    .doOnSuccess(v -> log.debug("Token revoked: {}", token.hashCode()))
+                                    .doOnSuccess(v -> log.debug("Token revoked for path: {}", path))
                                     .doOnError(e -> log.error("Failed to revoke token", e))
                                     .then();
                         }
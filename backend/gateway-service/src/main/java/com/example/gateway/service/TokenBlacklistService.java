@@ -1,25 +1,137 @@
 package com.example.gateway.service;
 
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class TokenBlacklistService {
+
+    // отзывы токенов редкие, поэтому держим точную копию blacklist'а в памяти:
+    // проверка на каждый запрос не выходит из процесса, а Redis остается источником правды
+    // новые отзывы приходят через pub/sub, периодический ресинк подхватывает пропущенные сообщения
+    // до первого ресинка проверяем напрямую в Redis
+
     private static final String BLACKLIST_PREFIX = "blacklist:token:";
+    private static final String BLACKLIST_CHANNEL = "blacklist:token:events";
+
     private final ReactiveRedisTemplate<String, String> redisTemplate;
+    private final Duration syncInterval;
+
+    // digest токена -> момент истечения записи (epoch millis)
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final Disposable.Composite subscriptions = Disposables.composite();
+    private volatile boolean synced = false;
+
+    public TokenBlacklistService(ReactiveRedisTemplate<String, String> redisTemplate,
+                                 @Value("${gateway.blacklist.sync-interval:60s}") Duration syncInterval) {
+        this.redisTemplate = redisTemplate;
+        this.syncInterval = syncInterval;
+    }
 
     public Mono<Boolean> isBlacklisted(String token) {
-        String key = BLACKLIST_PREFIX + token.hashCode();
-        return redisTemplate.hasKey(key);
+        String digest = digest(token);
+
+        if (!synced) {
+            return redisTemplate.hasKey(BLACKLIST_PREFIX + digest);
+        }
+
+        Long expiresAt = revoked.get(digest);
+        return Mono.just(expiresAt != null && expiresAt > System.currentTimeMillis());
     }
 
     public Mono<Void> blacklist(String token, Duration ttl) {
-        String key = BLACKLIST_PREFIX + token.hashCode();
-        return redisTemplate.opsForValue().set(key, "revoked", ttl).then();
+        String digest = digest(token);
+        long expiresAt = System.currentTimeMillis() + ttl.toMillis();
+        revoked.put(digest, expiresAt);
+
+        return redisTemplate.opsForValue().set(BLACKLIST_PREFIX + digest, "revoked", ttl)
+                .then(redisTemplate.convertAndSend(BLACKLIST_CHANNEL, digest + ":" + expiresAt))
+                .then();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startSync() {
+        subscriptions.add(redisTemplate.listenToChannel(BLACKLIST_CHANNEL)
+                .doOnNext(message -> onRevocation(message.getMessage()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(syncInterval))
+                .subscribe());
+
+        subscriptions.add(Flux.interval(Duration.ZERO, syncInterval)
+                .concatMap(tick -> resync()
+                        .onErrorResume(e -> {
+                            log.error("Blacklist resync failed: {}", e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe());
+    }
+
+    @PreDestroy
+    public void stopSync() {
+        subscriptions.dispose();
+    }
+
+    private void onRevocation(String payload) {
+        int separator = payload.lastIndexOf(':');
+        if (separator <= 0) {
+            log.warn("Malformed blacklist event: {}", payload);
+            return;
+        }
+
+        try {
+            revoked.put(payload.substring(0, separator), Long.parseLong(payload.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            log.warn("Malformed blacklist event: {}", payload);
+        }
+    }
+
+    private Mono<Void> resync() {
+        long now = System.currentTimeMillis();
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(BLACKLIST_PREFIX + "*")
+                .count(1000)
+                .build();
+
+        return redisTemplate.scan(options)
+                .flatMap(key -> redisTemplate.getExpire(key)
+                        .filter(ttl -> !ttl.isNegative() && !ttl.isZero())
+                        .doOnNext(ttl -> revoked.put(key.substring(BLACKLIST_PREFIX.length()), now + ttl.toMillis())))
+                .then(Mono.fromRunnable(() -> {
+                    revoked.values().removeIf(expiresAt -> expiresAt <= now);
+                    if (!synced) {
+                        log.info("Token blacklist synced: {} entries", revoked.size());
+                    }
+                    synced = true;
+                }));
+    }
+
+    // вместо hashCode (32 бита, коллизии) ключуем по SHA-256 от токена
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
-}
\ No newline at end of file
+}
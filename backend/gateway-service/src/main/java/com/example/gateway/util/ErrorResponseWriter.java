@@ -0,0 +1,32 @@
+package com.example.gateway.util;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+public final class ErrorResponseWriter {
+
+    private ErrorResponseWriter() {}
+
+    // быстрая отправка ответа гейтвея с ошибкой в общем формате
+    public static Mono<Void> write(ServerWebExchange exchange, HttpStatus status, String message) {
+        exchange.getResponse().setStatusCode(status);
+        exchange.getResponse().getHeaders().add(HttpHeaders.CONTENT_TYPE, "application/json");
+
+        String body = String.format(
+                "{\"timestamp\":\"%s\",\"status\":%d,\"error\":\"%s\",\"message\":\"%s\"}",
+                Instant.now().toString(),
+                status.value(),
+                status.getReasonPhrase(),
+                message
+        );
+
+        return exchange.getResponse().writeWith(
+                Mono.just(exchange.getResponse().bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8)))
+        );
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.gateway.loadshedding;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradientLimiterTests {
+
+    private static final int WINDOW = 10;
+    private static final long FAST = 1_000_000L;
+    private static final long SLOW = 10_000_000L;
+
+    @Test
+    void rejectsAboveLimitAndFreesSlotOnRelease() {
+        GradientLimiter limiter = new GradientLimiter(2, 1, 10, WINDOW, 0.5);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+
+        limiter.release(-1, false);
+        assertEquals(1, limiter.getInFlight());
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void growsWhileLatencyIsStable() {
+        GradientLimiter limiter = new GradientLimiter(10, 1, 100, WINDOW, 1.0);
+
+        saturatedWindow(limiter, FAST, false);
+        // градиент 1 и запас sqrt(10): 10 + 3.16
+        assertEquals(13, limiter.getLimit());
+
+        saturatedWindow(limiter, FAST, false);
+        assertTrue(limiter.getLimit() > 13);
+    }
+
+    @Test
+    void shrinksWhenLatencyGrows() {
+        GradientLimiter limiter = new GradientLimiter(20, 1, 20, WINDOW, 1.0);
+        saturatedWindow(limiter, FAST, false);
+        assertEquals(20, limiter.getLimit());
+
+        saturatedWindow(limiter, SLOW, false);
+        // градиент ограничен снизу 0.5: 20 * 0.5 + sqrt(20)
+        assertEquals(14, limiter.getLimit());
+    }
+
+    @Test
+    void backsOffWhenWindowHasDrops() {
+        GradientLimiter limiter = new GradientLimiter(20, 1, 100, WINDOW, 1.0);
+
+        saturatedWindow(limiter, FAST, true);
+        assertEquals(18, limiter.getLimit());
+    }
+
+    @Test
+    void ignoresWindowsThatDoNotReachTheLimit() {
+        GradientLimiter limiter = new GradientLimiter(20, 1, 100, WINDOW, 1.0);
+
+        for (int i = 0; i < WINDOW; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(SLOW, false);
+        }
+        assertEquals(20, limiter.getLimit());
+    }
+
+    @Test
+    void smoothingDampensTheChange() {
+        GradientLimiter limiter = new GradientLimiter(20, 1, 100, WINDOW, 0.5);
+
+        saturatedWindow(limiter, FAST, true);
+        // половина пути от 20 к 18
+        assertEquals(19, limiter.getLimit());
+    }
+
+    @Test
+    void staysWithinBounds() {
+        GradientLimiter limiter = new GradientLimiter(10, 8, 12, WINDOW, 1.0);
+
+        for (int i = 0; i < 5; i++) {
+            saturatedWindow(limiter, FAST, false);
+        }
+        assertEquals(12, limiter.getLimit());
+
+        for (int i = 0; i < 5; i++) {
+            saturatedWindow(limiter, FAST, true);
+        }
+        assertEquals(8, limiter.getLimit());
+    }
+
+    @Test
+    void ignoredSamplesDoNotCompleteWindow() {
+        GradientLimiter limiter = new GradientLimiter(10, 1, 100, WINDOW, 1.0);
+
+        for (int i = 0; i < WINDOW * 3; i++) {
+            while (limiter.tryAcquire()) {
+                // занимаем все слоты
+            }
+            limiter.release(-1, true);
+        }
+        assertEquals(10, limiter.getLimit());
+    }
+
+    // каждый из WINDOW замеров снимается при полностью занятом лимите, затем оставшиеся запросы отпускаются без замера
+    private static void saturatedWindow(GradientLimiter limiter, long rttNanos, boolean dropped) {
+        for (int i = 0; i < WINDOW; i++) {
+            while (limiter.tryAcquire()) {
+                // занимаем все слоты
+            }
+            limiter.release(rttNanos, dropped);
+        }
+        while (limiter.getInFlight() > 0) {
+            limiter.release(-1, false);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.gateway.ratelimit;
+
+import com.example.gateway.ratelimit.RateLimiterService.Decision;
+import com.example.gateway.ratelimit.RateLimiterService.LocalBucket;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalBucketTests {
+
+    private static final long NOW = 1_000_000L;
+
+    @Test
+    void emptyBucketAsksRedis() {
+        LocalBucket bucket = new LocalBucket();
+
+        assertNull(bucket.tryConsume(NOW));
+    }
+
+    @Test
+    void leaseServesGrantedTokensLocally() {
+        LocalBucket bucket = new LocalBucket();
+
+        // первый токен пачки уходит на запрос, который ходил в Redis
+        assertTrue(bucket.refill(5, 0, NOW).allowed());
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(Decision.ALLOWED, bucket.tryConsume(NOW + i));
+        }
+        assertNull(bucket.tryConsume(NOW + 4));
+    }
+
+    @Test
+    void singleTokenGrantLeavesNothingLeased() {
+        LocalBucket bucket = new LocalBucket();
+
+        assertTrue(bucket.refill(1, 0, NOW).allowed());
+        assertNull(bucket.tryConsume(NOW));
+    }
+
+    @Test
+    void unusedLeaseExpires() {
+        LocalBucket bucket = new LocalBucket();
+        bucket.refill(10, 0, NOW);
+
+        assertEquals(Decision.ALLOWED, bucket.tryConsume(NOW + RateLimiterService.LEASE_TTL_MILLIS - 1));
+        assertNull(bucket.tryConsume(NOW + RateLimiterService.LEASE_TTL_MILLIS));
+
+        // сгоревшие токены не возвращаются вместе со следующей пачкой
+        bucket.refill(2, 0, NOW + 2000);
+        assertEquals(Decision.ALLOWED, bucket.tryConsume(NOW + 2000));
+        assertNull(bucket.tryConsume(NOW + 2000));
+    }
+
+    @Test
+    void rejectionBlocksLocallyUntilRetryAfter() {
+        LocalBucket bucket = new LocalBucket();
+
+        Decision rejected = bucket.refill(0, 250, NOW);
+        assertFalse(rejected.allowed());
+        assertEquals(250, rejected.retryAfterMillis());
+
+        Decision blocked = bucket.tryConsume(NOW + 100);
+        assertNotNull(blocked);
+        assertFalse(blocked.allowed());
+        assertEquals(150, blocked.retryAfterMillis());
+
+        assertNull(bucket.tryConsume(NOW + 250));
+    }
+}
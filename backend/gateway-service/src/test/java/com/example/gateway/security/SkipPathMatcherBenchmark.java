@@ -0,0 +1,54 @@
+package com.example.gateway.security;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// проверка публичного пути выполняется на event loop для каждого запроса через gateway
+// сравнивается с прежней проверкой, которая компилировала регулярку на каждый путь и запрос
+// запуск: mvn -Pbenchmark test-compile exec:exec -Djmh.include=SkipPathMatcher
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SkipPathMatcherBenchmark {
+
+    // skipPaths маршрута user-service из application.properties
+    private static final List<String> SKIP_PATHS = List.of(
+            "/api/auth/register",
+            "/api/auth/login",
+            "/api/auth/refresh",
+            "/api/swagger-ui.html",
+            "/v3/api-docs/*",
+            "/swagger-ui/*"
+    );
+
+    // точный путь, путь под префиксом и обычный защищенный запрос, который проверяет все шаблоны
+    @Param({"/api/auth/login", "/v3/api-docs/user-service", "/api/users/42/profile"})
+    public String path;
+
+    private SkipPathMatcher matcher;
+
+    @Setup
+    public void setUp() {
+        matcher = SkipPathMatcher.compile(SKIP_PATHS);
+    }
+
+    @Benchmark
+    public boolean compiled() {
+        return matcher.matches(path);
+    }
+
+    @Benchmark
+    public boolean regexPerRequest() {
+        for (String skipPath : SKIP_PATHS) {
+            if (path.matches(skipPath.replace("*", ".*"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
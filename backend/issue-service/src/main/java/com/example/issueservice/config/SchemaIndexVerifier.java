@@ -0,0 +1,97 @@
+package com.example.issueservice.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Component
+@DependsOnDatabaseInitialization
+public class SchemaIndexVerifier {
+
+    // проверка после миграций Flyway: у каждой горячей выборки должен быть валидный индекс,
+    // ведущие колонки которого совпадают с ожидаемыми (имя индекса не важно - на базах,
+    // созданных через ddl-auto, уникальные индексы называются иначе)
+    // при отсутствии индекса сервис не стартует, чтобы не уйти в прод с seq scan по большим таблицам
+
+    private static final String SCHEMA = "issue_service_schema";
+
+    private static final List<ExpectedIndex> EXPECTED_INDEXES = List.of(
+            new ExpectedIndex("issues", "project_id"),
+            new ExpectedIndex("issues", "parent_issue_id"),
+            new ExpectedIndex("issues", "assignee_id"),
+            new ExpectedIndex("issue_comments", "issue_id,created_at"),
+            new ExpectedIndex("attachments", "issue_id"),
+            new ExpectedIndex("issue_tags", "issue_id"),
+            new ExpectedIndex("issue_tags", "tag_id"),
+            new ExpectedIndex("project_tags", "project_id"),
+            new ExpectedIndex("issue_closure", "ancestor_id"),
+            new ExpectedIndex("issue_closure", "descendant_id"),
+            new ExpectedIndex("issues", "search_vector"),
+            new ExpectedIndex("issue_comments", "search_vector")
+    );
+
+    private static final String INDEXED_COLUMNS_QUERY = """
+            SELECT t.relname, string_agg(a.attname, ',' ORDER BY k.ord)
+            FROM pg_index i
+            JOIN pg_class t ON t.oid = i.indrelid
+            JOIN pg_namespace n ON n.oid = t.relnamespace
+            CROSS JOIN LATERAL unnest(i.indkey) WITH ORDINALITY AS k(attnum, ord)
+            JOIN pg_attribute a ON a.attrelid = t.oid AND a.attnum = k.attnum
+            WHERE n.nspname = ? AND i.indisvalid
+            GROUP BY i.indexrelid, t.relname
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+    public SchemaIndexVerifier(JdbcTemplate jdbcTemplate,
+                               @Value("${schema.index-check.enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    @PostConstruct
+    public void verify() {
+        if (!enabled) {
+            log.warn("Schema index check is disabled");
+            return;
+        }
+
+        List<String> indexes = jdbcTemplate.query(INDEXED_COLUMNS_QUERY,
+                (rs, rowNum) -> rs.getString(1) + "(" + rs.getString(2) + ")", SCHEMA);
+
+        List<ExpectedIndex> missing = new ArrayList<>();
+        for (ExpectedIndex expected : EXPECTED_INDEXES) {
+            if (indexes.stream().noneMatch(expected::coveredBy)) {
+                missing.add(expected);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Missing or invalid indexes in " + SCHEMA + ": " + missing
+                    + ". Check the Flyway history and drop INVALID indexes left by an interrupted migration");
+        }
+        log.info("Schema index check passed: {} expected indexes present in {}", EXPECTED_INDEXES.size(), SCHEMA);
+    }
+
+    private record ExpectedIndex(String table, String columns) {
+
+        // индекс подходит, если начинается с ожидаемых колонок в том же порядке
+        boolean coveredBy(String index) {
+            String prefix = table + "(" + columns;
+            return index.equals(prefix + ")") || index.startsWith(prefix + ",");
+        }
+
+        @Override
+        public String toString() {
+            return table + "(" + columns + ")";
+        }
+    }
+}
@@ -1,21 +1,42 @@
 package com.example.issueservice.controllers;
 
 import com.example.issueservice.dto.request.AssignTagsRequest;
+import com.example.issueservice.dto.request.BoardQueryRequest;
+import com.example.issueservice.dto.request.BulkIssueUpdateRequest;
 import com.example.issueservice.dto.request.CreateIssueRequest;
+import com.example.issueservice.dto.request.IssueFilterRequest;
+import com.example.issueservice.dto.request.IssueSearchRequest;
+import com.example.issueservice.dto.request.MoveIssueRequest;
 import com.example.issueservice.dto.request.UpdateIssueRequest;
+import com.example.issueservice.dto.response.BoardQueryResponse;
+import com.example.issueservice.dto.response.InternalIssueResponse;
 import com.example.issueservice.dto.response.IssueDetailResponse;
+import com.example.issueservice.dto.response.IssueFilterResponse;
+import com.example.issueservice.dto.response.IssueImportResponse;
+import com.example.issueservice.dto.response.IssueSearchResponse;
+import com.example.issueservice.dto.response.IssueSubtreeStatsResponse;
+import com.example.issueservice.dto.response.IssueTreeNodeResponse;
 import com.example.issueservice.security.JwtUser;
+import com.example.issueservice.services.BulkIssueService;
+import com.example.issueservice.services.IssueImportService;
+import com.example.issueservice.services.IssueSearchService;
 import com.example.issueservice.services.IssueService;
+import com.example.issueservice.services.IssueTreeService;
+import com.example.issueservice.services.ProjectSnapshotService;
+import com.example.issueservice.services.TagIndexService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
+import java.io.InputStream;
 import java.util.List;
 
 @Slf4j
@@ -28,6 +49,12 @@ import java.util.List;
 public class IssueController {
 
     private final IssueService issueService;
+    private final BulkIssueService bulkIssueService;
+    private final IssueImportService issueImportService;
+    private final IssueTreeService issueTreeService;
+    private final TagIndexService tagIndexService;
+    private final ProjectSnapshotService projectSnapshotService;
+    private final IssueSearchService issueSearchService;
 
     @Operation(
             summary = "Создание задачи (Назначение тегов сразу)",
@@ -108,6 +135,51 @@ public class IssueController {
         return ResponseEntity.noContent().build();
     }
 
+    @Operation(
+            summary = "Поддерево задачи (сама задача и все потомки, плоским списком по глубине)",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @GetMapping("/{issueId}/subtree")
+    public ResponseEntity<List<IssueTreeNodeResponse>> getSubtree(
+            @AuthenticationPrincipal JwtUser principal,
+            @PathVariable Long issueId) {
+
+        log.info("Request to get subtree of issue {}", issueId);
+        List<IssueTreeNodeResponse> response = issueTreeService.getSubtree(principal.userId(), issueId);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+            summary = "Количество потомков задачи по статусам",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @GetMapping("/{issueId}/subtree/stats")
+    public ResponseEntity<IssueSubtreeStatsResponse> getSubtreeStats(
+            @AuthenticationPrincipal JwtUser principal,
+            @PathVariable Long issueId) {
+
+        log.info("Request to get subtree stats of issue {}", issueId);
+        IssueSubtreeStatsResponse response = issueTreeService.getSubtreeStats(principal.userId(), issueId);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+            summary = "Перенос задачи вместе с поддеревом к другому родителю",
+            description = "Новый родитель должен быть из того же проекта и подходить по типу (как при создании).",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PatchMapping("/{issueId}/parent")
+    public ResponseEntity<List<IssueTreeNodeResponse>> moveIssue(
+            @AuthenticationPrincipal JwtUser principal,
+            @PathVariable Long issueId,
+            @RequestBody MoveIssueRequest request) {
+
+        log.info("Request to move issue {} to parent {}", issueId, request.parentId());
+        List<IssueTreeNodeResponse> response = issueTreeService.moveIssue(
+                principal.userId(), issueId, request.parentId());
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(
             summary = "Назначение тегов задаче (только assignee)",
             security = @SecurityRequirement(name = "bearerAuth")
@@ -123,4 +195,93 @@ public class IssueController {
                 principal.userId(), issueId, request.tagIds());
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    @Operation(
+            summary = "Массовое изменение задач (статус, приоритет, теги, исполнитель)",
+            description = "Одна транзакция на весь список. Права проверяются один раз на проект: "
+                    + "FULL_TRANSITION для статуса, EDIT для приоритета, ASSIGN для исполнителя, "
+                    + "TAG:APPLY для тегов. Теги может менять только текущий исполнитель каждой задачи "
+                    + "(смена исполнителя в этом же запросе не учитывается).",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PatchMapping("/bulk")
+    public ResponseEntity<List<InternalIssueResponse>> updateIssuesBulk(
+            @AuthenticationPrincipal JwtUser principal,
+            @Valid @RequestBody BulkIssueUpdateRequest request) {
+
+        log.info("Bulk update request for {} issues by user {}", request.issueIds().size(), principal.userId());
+        List<InternalIssueResponse> response = bulkIssueService.updateIssues(principal.userId(), request);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+            summary = "Фильтр задач проекта по тегам (AND/OR/NOT), статусам и исполнителю",
+            description = "Возвращает страницу id задач по возрастанию. Считается по in-memory индексу, "
+                    + "изменения с других инстансов сервиса видны с задержкой до issues.tag-index.max-age-seconds.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PostMapping("/filter")
+    public ResponseEntity<IssueFilterResponse> filterIssues(
+            @AuthenticationPrincipal JwtUser principal,
+            @Valid @RequestBody IssueFilterRequest request) {
+
+        log.info("Filter request for project {} by user {}", request.projectId(), principal.userId());
+        IssueFilterResponse response = tagIndexService.filterIssues(principal.userId(), request);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+            summary = "Задачи доски проекта",
+            description = "Фильтр по статусам, типам, приоритетам, участникам, родителю, уровню и дедлайну, "
+                    + "сортировка, страница id задач и количество задач по группам (по умолчанию - по статусам). "
+                    + "Считается по снимку проекта в памяти; изменения с других инстансов сервиса видны "
+                    + "с задержкой до issues.snapshot.max-age-seconds.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PostMapping("/board/query")
+    public ResponseEntity<BoardQueryResponse> queryBoard(
+            @AuthenticationPrincipal JwtUser principal,
+            @Valid @RequestBody BoardQueryRequest request) {
+
+        log.info("Board query for project {} by user {}", request.projectId(), principal.userId());
+        BoardQueryResponse response = projectSnapshotService.queryBoard(principal.userId(), request);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+            summary = "Полнотекстовый поиск задач",
+            description = "Поиск по заголовкам, описаниям и комментариям задач в указанных проектах. "
+                    + "Проекты без права просмотра задач пропускаются. Результаты по убыванию релевантности, "
+                    + "совпадения подсвечены тегом <mark>.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PostMapping("/search")
+    public ResponseEntity<IssueSearchResponse> searchIssues(
+            @AuthenticationPrincipal JwtUser principal,
+            @Valid @RequestBody IssueSearchRequest request) {
+
+        log.info("Search request in projects {} by user {}", request.projectIds(), principal.userId());
+        IssueSearchResponse response = issueSearchService.search(principal.userId(), request);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+            summary = "Импорт задач из CSV (с заголовком) или NDJSON",
+            description = "Колонки/поля: key, parentKey, parentId, type, priority, title, description. "
+                    + "parentKey ссылается на key строки выше в этом же файле, parentId - на существующую задачу. "
+                    + "Импорт атомарный: при ошибке в любой строке задачи не создаются.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PostMapping(value = "/import", consumes = {IssueImportService.TEXT_CSV, IssueImportService.APPLICATION_NDJSON})
+    public ResponseEntity<IssueImportResponse> importIssues(
+            @AuthenticationPrincipal JwtUser principal,
+            @RequestParam Long projectId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) {
+
+        log.info("Request to import issues into project {} by user {}", projectId, principal.userId());
+        IssueImportResponse response = issueImportService.importIssues(
+                principal.userId(), projectId, contentType, body);
+        return ResponseEntity.ok(response);
+    }
+}
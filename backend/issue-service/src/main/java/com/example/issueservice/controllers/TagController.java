@@ -10,11 +10,13 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
+import java.time.Duration;
 import java.util.List;
 
 @Slf4j
@@ -56,7 +58,9 @@ public class TagController {
         log.info("Request to get all tags for project: {}", projectId);
         List<TagResponse> tags = tagService.getTagsByProject(principal.userId(), projectId);
 
-        return ResponseEntity.ok(tags);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(30)).cachePrivate())
+                .body(tags);
     }
 
     @Operation(
@@ -5,6 +5,7 @@ import com.example.issueservice.dto.models.enums.IssueType;
 import com.example.issueservice.dto.models.enums.Priority;
 import jakarta.persistence.*;
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.*;
 import org.hibernate.annotations.*;
@@ -24,8 +25,10 @@ import java.util.Set;
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class Issue {
 
+    // id из последовательности блоками по 50: Hibernate не делает INSERT на каждый persist и может пачковать вставки
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "issue_seq")
+    @SequenceGenerator(name = "issue_seq", sequenceName = "issues_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -0,0 +1,40 @@
+package com.example.issueservice.dto.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+// closure table иерархии задач: строка на каждую пару (предок, потомок), включая саму задачу с depth = 0
+// поддерживается IssueTreeService при создании, импорте, переносе и удалении задач
+@Entity
+@Table(
+        name = "issue_closure",
+        schema = "issue_service_schema",
+        indexes = @Index(name = "idx_issue_closure_descendant", columnList = "descendant_id")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class IssueClosure {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "depth", nullable = false)
+    private Integer depth;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        @Column(name = "ancestor_id", nullable = false)
+        private Long ancestorId;
+
+        @Column(name = "descendant_id", nullable = false)
+        private Long descendantId;
+    }
+}
@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 public class IssueComment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comment_seq")
+    @SequenceGenerator(name = "comment_seq", sequenceName = "issue_comments_seq", allocationSize = 20)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
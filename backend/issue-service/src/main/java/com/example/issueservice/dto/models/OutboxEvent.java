@@ -0,0 +1,48 @@
+package com.example.issueservice.dto.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "outbox_events", schema = "issue_service_schema")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_seq")
+    @SequenceGenerator(name = "outbox_seq", sequenceName = "outbox_events_id_seq", allocationSize = 50)
+    private Long id;
+
+    // стабильный messageId: при повторной отправке консьюмеры могут отбросить дубликат
+    @Column(name = "message_id", nullable = false, updatable = false)
+    private String messageId;
+
+    @Column(name = "event_type", nullable = false)
+    private String eventType;
+
+    @Column(name = "routing_key", nullable = false)
+    private String routingKey;
+
+    // application/json или application/cbor (см. EventCodec); null у строк, записанных до появления колонки
+    @Column(name = "content_type")
+    private String contentType;
+
+    // событие уже сериализовано в байты, relay отправляет их без перекодирования
+    @Column(columnDefinition = "BYTEA", nullable = false)
+    private byte[] payload;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
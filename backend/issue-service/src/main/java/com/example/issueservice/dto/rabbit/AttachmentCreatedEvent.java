@@ -13,7 +13,7 @@ public record AttachmentCreatedEvent(
         long uploaderId,
         Instant createdAtUtc
 ) {
-    public static AttachmentCreatedEvent from(Attachment attachment, long projectId) {
+    public static AttachmentCreatedEvent from(Attachment attachment) {
 
         LocalDateTime attachmentCreatedAt = attachment.getCreatedAt();
 
@@ -22,7 +22,7 @@ public record AttachmentCreatedEvent(
                 : Instant.now();
 
         return new AttachmentCreatedEvent(
-                projectId,
+                attachment.getIssue().getProjectId(),
                 attachment.getIssue().getId(),
                 attachment.getId(),
                 attachment.getCreatedBy(),
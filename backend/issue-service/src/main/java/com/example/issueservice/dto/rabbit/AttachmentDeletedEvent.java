@@ -11,13 +11,13 @@ public record AttachmentDeletedEvent(
         long deleterId,
         Instant deletedAtUtc
 ) {
-    public static AttachmentDeletedEvent from(Attachment attachment, long projectId) {
+    public static AttachmentDeletedEvent from(Attachment attachment, long deleterId) {
 
         return new AttachmentDeletedEvent(
-                projectId,
+                attachment.getIssue().getProjectId(),
                 attachment.getIssue().getId(),
                 attachment.getId(),
-                attachment.getCreatedBy(),
+                deleterId,
                 Instant.now()
         );
     }
@@ -0,0 +1,18 @@
+package com.example.issueservice.dto.rabbit;
+
+import java.time.Instant;
+import java.util.List;
+
+// одно событие на проект вместо события на каждую задачу при массовом изменении
+// поля priority/tagIds/assigneeId заполнены только если менялись, statusChanges - фактические переходы статусов
+public record IssueBulkUpdatedEvent(
+        long projectId,
+        List<Long> issueIds,
+        long updaterId,
+        String priority,
+        List<Long> tagIds,
+        Long assigneeId,
+        String assignmentType,
+        List<IssueStatusChangedEvent> statusChanges,
+        Instant updatedAtUtc
+) {}
@@ -0,0 +1,19 @@
+package com.example.issueservice.dto.rabbit;
+
+import java.time.Instant;
+import java.util.List;
+
+// конверт для пачки смен статусов одного проекта (например, при старте спринта)
+public record IssueStatusChangedBatchEvent(
+        long projectId,
+        List<IssueStatusChangedEvent> changes,
+        Instant changedAtUtc
+) {
+    public static IssueStatusChangedBatchEvent of(long projectId, List<IssueStatusChangedEvent> changes) {
+        return new IssueStatusChangedBatchEvent(
+                projectId,
+                List.copyOf(changes),
+                changes.getLast().changedAtUtc()
+        );
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.issueservice.dto.rabbit;
+
+import java.time.Instant;
+import java.util.List;
+
+// одно событие на импорт вместо IssueCreatedEvent на каждую строку
+public record IssuesImportedEvent(
+        long projectId,
+        long importerId,
+        List<Long> issueIds,
+        Instant importedAtUtc
+) {}
@@ -0,0 +1,85 @@
+package com.example.issueservice.dto.request;
+
+import com.example.issueservice.dto.models.enums.IssueStatus;
+import com.example.issueservice.dto.models.enums.IssueType;
+import com.example.issueservice.dto.models.enums.Priority;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Schema(description = "Фильтрация, сортировка и группировка задач доски проекта")
+public record BoardQueryRequest(
+        @Schema(description = "ID проекта", example = "1")
+        @NotNull
+        Long projectId,
+
+        @Schema(description = "Один из статусов", example = "[\"TO_DO\", \"IN_PROGRESS\"]")
+        List<IssueStatus> statuses,
+
+        @Schema(description = "Один из типов", example = "[\"TASK\", \"BUG\"]")
+        List<IssueType> types,
+
+        @Schema(description = "Один из приоритетов", example = "[\"HIGH\", \"CRITICAL\"]")
+        List<Priority> priorities,
+
+        @Schema(description = "ID исполнителя", example = "10")
+        Long assigneeId,
+
+        @Schema(description = "ID ревьюера", example = "11")
+        Long codeReviewerId,
+
+        @Schema(description = "ID QA инженера", example = "12")
+        Long qaEngineerId,
+
+        @Schema(description = "ID родительской задачи", example = "123")
+        Long parentId,
+
+        @Schema(description = "Уровень иерархии (1 - эпик, 2 - история/задача/баг, 3 - подзадача)", example = "2")
+        Integer level,
+
+        @Schema(description = "Дедлайн не позже", example = "2025-12-31T23:59:59")
+        LocalDateTime deadlineBefore,
+
+        @Schema(description = "Поле сортировки (по умолчанию ID)", example = "PRIORITY")
+        SortField sortBy,
+
+        @Schema(description = "Сортировка по убыванию", example = "true")
+        Boolean descending,
+
+        @Schema(description = "Поле для подсчета количества задач по группам (по умолчанию STATUS - колонки доски)",
+                example = "STATUS")
+        GroupField groupBy,
+
+        @Schema(description = "Номер страницы (с 0)", example = "0")
+        @Min(0)
+        Integer page,
+
+        @Schema(description = "Размер страницы", example = "100")
+        @Min(1)
+        @Max(1000)
+        Integer size
+) {
+    public enum SortField { ID, STATUS, PRIORITY, TYPE, LEVEL, DEADLINE }
+
+    public enum GroupField { STATUS, TYPE, PRIORITY, ASSIGNEE, LEVEL }
+
+    public SortField sortByOrDefault() {
+        return sortBy != null ? sortBy : SortField.ID;
+    }
+
+    public GroupField groupByOrDefault() {
+        return groupBy != null ? groupBy : GroupField.STATUS;
+    }
+
+    public int pageOrDefault() {
+        return page != null ? page : 0;
+    }
+
+    public int sizeOrDefault() {
+        return size != null ? size : 100;
+    }
+}
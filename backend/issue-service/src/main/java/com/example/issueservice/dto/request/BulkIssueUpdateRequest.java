@@ -0,0 +1,44 @@
+package com.example.issueservice.dto.request;
+
+import com.example.issueservice.dto.models.enums.AssignmentType;
+import com.example.issueservice.dto.models.enums.IssueStatus;
+import com.example.issueservice.dto.models.enums.Priority;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BulkIssueUpdateRequest(
+        @Schema(description = "ID задач", example = "[1, 2, 3]")
+        @NotNull @Size(min = 1, max = 500)
+        List<@NotNull Long> issueIds,
+
+        @Schema(description = "Новый статус (null = не менять), требует права FULL_TRANSITION", example = "IN_PROGRESS")
+        IssueStatus targetStatus,
+
+        @Schema(description = "Новый приоритет (null = не менять)", example = "HIGH")
+        Priority priority,
+
+        @Schema(description = "ID тегов (null = не менять теги, [] = удалить все теги, [1,2] = заменить на указанные), "
+                + "требует права TAG:APPLY, менять теги может только исполнитель задачи",
+                example = "[1, 2]")
+        List<Long> tagIds,
+
+        @Schema(description = "ID участника проекта для назначения (null = не менять)", example = "123")
+        Long assigneeId,
+
+        @Schema(description = "Тип назначаемого пользователя (по умолчанию ASSIGNEE)", example = "ASSIGNEE")
+        AssignmentType assignmentType
+) {
+    @Schema(hidden = true)
+    @AssertTrue(message = "At least one change is required")
+    public boolean isAnyChange() {
+        return targetStatus != null || priority != null || tagIds != null || assigneeId != null;
+    }
+
+    public AssignmentType assignmentTypeOrDefault() {
+        return assignmentType != null ? assignmentType : AssignmentType.ASSIGNEE;
+    }
+}
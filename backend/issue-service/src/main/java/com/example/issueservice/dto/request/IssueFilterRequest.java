@@ -0,0 +1,52 @@
+package com.example.issueservice.dto.request;
+
+import com.example.issueservice.dto.models.enums.IssueStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Фильтр задач проекта по тегам, статусам и исполнителю")
+public record IssueFilterRequest(
+        @Schema(description = "ID проекта", example = "1")
+        @NotNull
+        Long projectId,
+
+        @Schema(description = "Задача должна иметь все эти теги (AND)", example = "[1, 2]")
+        @Size(max = 100)
+        List<Long> allTagIds,
+
+        @Schema(description = "Задача должна иметь хотя бы один из этих тегов (OR)", example = "[3, 4]")
+        @Size(max = 100)
+        List<Long> anyTagIds,
+
+        @Schema(description = "Задача не должна иметь ни одного из этих тегов (NOT)", example = "[5]")
+        @Size(max = 100)
+        List<Long> excludedTagIds,
+
+        @Schema(description = "Один из статусов", example = "[\"TO_DO\", \"IN_PROGRESS\"]")
+        List<IssueStatus> statuses,
+
+        @Schema(description = "ID исполнителя", example = "10")
+        Long assigneeId,
+
+        @Schema(description = "Номер страницы (с 0)", example = "0")
+        @Min(0)
+        Integer page,
+
+        @Schema(description = "Размер страницы", example = "100")
+        @Min(1)
+        @Max(1000)
+        Integer size
+) {
+    public int pageOrDefault() {
+        return page != null ? page : 0;
+    }
+
+    public int sizeOrDefault() {
+        return size != null ? size : 100;
+    }
+}
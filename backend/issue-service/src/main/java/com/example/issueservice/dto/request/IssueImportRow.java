@@ -0,0 +1,19 @@
+package com.example.issueservice.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+// строка импорта задач (колонка CSV или объект NDJSON)
+// key - идентификатор строки внутри файла, parentKey ссылается на строку выше в этом же файле,
+// parentId - на уже существующую задачу проекта
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonPropertyOrder({"key", "parentKey", "parentId", "type", "priority", "title", "description"})
+public record IssueImportRow(
+        String key,
+        String parentKey,
+        Long parentId,
+        String type,
+        String priority,
+        String title,
+        String description
+) {}
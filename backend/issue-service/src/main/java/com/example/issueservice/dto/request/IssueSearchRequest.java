@@ -0,0 +1,41 @@
+package com.example.issueservice.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Полнотекстовый поиск по заголовкам, описаниям и комментариям задач")
+public record IssueSearchRequest(
+        @Schema(description = "Строка поиска: слова, \"точная фраза\", OR, -исключение",
+                example = "ошибка авторизации -мобильный")
+        @NotBlank
+        @Size(max = 200)
+        String query,
+
+        @Schema(description = "ID проектов; проекты без права просмотра задач пропускаются", example = "[1, 2]")
+        @NotEmpty
+        @Size(max = 50)
+        List<Long> projectIds,
+
+        @Schema(description = "Номер страницы (с 0)", example = "0")
+        @Min(0)
+        Integer page,
+
+        @Schema(description = "Размер страницы", example = "20")
+        @Min(1)
+        @Max(100)
+        Integer size
+) {
+    public int pageOrDefault() {
+        return page != null ? page : 0;
+    }
+
+    public int sizeOrDefault() {
+        return size != null ? size : 20;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.issueservice.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record MoveIssueRequest(
+        @Schema(description = "ID нового родителя (null - отвязать от родителя)", example = "123")
+        Long parentId
+) {}
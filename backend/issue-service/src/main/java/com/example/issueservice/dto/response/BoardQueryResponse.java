@@ -0,0 +1,24 @@
+package com.example.issueservice.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.Map;
+
+@Schema(description = "Результат запроса к доске: страница id задач и количество задач по группам")
+public record BoardQueryResponse(
+        @Schema(description = "Всего подходящих задач", example = "250")
+        long total,
+
+        @Schema(description = "Номер страницы", example = "0")
+        int page,
+
+        @Schema(description = "Размер страницы", example = "100")
+        int size,
+
+        @Schema(description = "ID задач на странице в порядке сортировки")
+        List<Long> issueIds,
+
+        @Schema(description = "Количество подходящих задач по группам (ключ NONE - значение не задано)")
+        Map<String, Integer> groups
+) {}
@@ -0,0 +1,20 @@
+package com.example.issueservice.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Страница id задач, подходящих под фильтр (по возрастанию id)")
+public record IssueFilterResponse(
+        @Schema(description = "Всего подходящих задач", example = "250")
+        long total,
+
+        @Schema(description = "Номер страницы", example = "0")
+        int page,
+
+        @Schema(description = "Размер страницы", example = "100")
+        int size,
+
+        @Schema(description = "ID задач на странице")
+        List<Long> issueIds
+) {}
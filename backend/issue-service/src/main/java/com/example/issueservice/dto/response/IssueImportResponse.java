@@ -0,0 +1,14 @@
+package com.example.issueservice.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Map;
+
+@Schema(description = "Результат импорта задач")
+public record IssueImportResponse(
+        @Schema(description = "Количество созданных задач", example = "1500")
+        int imported,
+
+        @Schema(description = "ID созданных задач по key из файла (только для строк с key)")
+        Map<String, Long> issueIdsByKey
+) {}
@@ -0,0 +1,44 @@
+package com.example.issueservice.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Страница результатов поиска по релевантности")
+public record IssueSearchResponse(
+        @Schema(description = "Всего найденных задач", example = "42")
+        long total,
+
+        @Schema(description = "Номер страницы", example = "0")
+        int page,
+
+        @Schema(description = "Размер страницы", example = "20")
+        int size,
+
+        @Schema(description = "ID проектов, по которым выполнялся поиск (с правом просмотра)", example = "[1, 2]")
+        List<Long> searchedProjectIds,
+
+        List<Hit> hits
+) {
+    @Schema(description = "Найденная задача")
+    public record Hit(
+            @Schema(description = "ID задачи", example = "123")
+            Long issueId,
+
+            @Schema(description = "ID проекта", example = "1")
+            Long projectId,
+
+            @Schema(description = "Релевантность (больше - выше)", example = "0.42")
+            double rank,
+
+            @Schema(description = "HTML-экранированный заголовок с подсвеченными совпадениями (<mark>)",
+                    example = "<mark>Ошибка</mark> при входе")
+            String titleHighlight,
+
+            @Schema(description = "HTML-экранированные фрагменты описания с подсвеченными совпадениями (<mark>)")
+            String snippet,
+
+            @Schema(description = "Совпадение найдено в комментариях задачи", example = "false")
+            boolean matchedInComments
+    ) {}
+}
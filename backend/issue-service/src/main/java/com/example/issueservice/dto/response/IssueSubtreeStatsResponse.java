@@ -0,0 +1,18 @@
+package com.example.issueservice.dto.response;
+
+import com.example.issueservice.dto.models.enums.IssueStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Map;
+
+@Schema(description = "Количество потомков задачи по статусам")
+public record IssueSubtreeStatsResponse(
+        @Schema(description = "ID корня поддерева", example = "123")
+        Long issueId,
+
+        @Schema(description = "Всего потомков (без самой задачи)", example = "42")
+        long descendants,
+
+        @Schema(description = "Потомки по статусам")
+        Map<IssueStatus, Long> byStatus
+) {}
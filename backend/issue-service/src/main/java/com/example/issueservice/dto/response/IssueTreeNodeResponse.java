@@ -0,0 +1,28 @@
+package com.example.issueservice.dto.response;
+
+import com.example.issueservice.dto.models.enums.IssueStatus;
+import com.example.issueservice.dto.models.enums.IssueType;
+import com.example.issueservice.dto.models.enums.Priority;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Задача в поддереве (плоский список, порядок по глубине)")
+public record IssueTreeNodeResponse(
+        @Schema(description = "ID задачи", example = "124")
+        Long id,
+
+        @Schema(description = "ID родительской задачи", example = "123")
+        Long parentId,
+
+        IssueType type,
+
+        IssueStatus status,
+
+        Priority priority,
+
+        String title,
+
+        Long assigneeId,
+
+        @Schema(description = "Глубина относительно корня поддерева (корень - 0)", example = "1")
+        Integer depth
+) {}
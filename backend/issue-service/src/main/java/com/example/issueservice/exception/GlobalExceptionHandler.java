@@ -49,6 +49,15 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), request);
     }
 
+    // 400 ошибка в файле импорта задач
+    @ExceptionHandler(IssueImportException.class)
+    public ResponseEntity<Object> handleIssueImport(IssueImportException ex,
+                                                    HttpServletRequest request) {
+        log.warn("Issue import failed for {} {}: {}",
+                request.getMethod(), request.getRequestURI(), ex.getMessage());
+        return buildResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), request);
+    }
+
     // 400 ошибка валидации иерархии задач
     @ExceptionHandler(InvalidIssueHierarchyException.class)
     public ResponseEntity<Object> handleInvalidHierarchy(InvalidIssueHierarchyException ex,
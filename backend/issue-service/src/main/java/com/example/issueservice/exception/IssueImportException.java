@@ -0,0 +1,11 @@
+package com.example.issueservice.exception;
+
+public class IssueImportException extends RuntimeException {
+    public IssueImportException(String message) {
+        super(message);
+    }
+
+    public IssueImportException(long line, String message) {
+        super("Line " + line + ": " + message);
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.issueservice.repositories;
+
+import com.example.issueservice.dto.models.IssueClosure;
+import com.example.issueservice.dto.models.enums.IssueStatus;
+import com.example.issueservice.dto.response.IssueTreeNodeResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface IssueClosureRepository extends JpaRepository<IssueClosure, IssueClosure.Key> {
+
+    // у native-запросов на изменение указана затронутая таблица (HINT_NATIVE_SPACES):
+    // без этого Hibernate сбрасывает весь второй уровень кеша и query cache при каждом вызове
+
+    // пути для новых задач: строка на себя + пути всех предков родителя с depth + 1
+    // родители задач из issueIds должны уже быть в closure (поэтому при импорте вызывается по уровням)
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "issue_service_schema.issue_closure"))
+    @Query(value = """
+            INSERT INTO issue_service_schema.issue_closure (ancestor_id, descendant_id, depth)
+            SELECT i.id, i.id, 0
+            FROM issue_service_schema.issues i
+            WHERE i.id IN (:issueIds)
+            UNION ALL
+            SELECT c.ancestor_id, i.id, c.depth + 1
+            FROM issue_service_schema.issues i
+            JOIN issue_service_schema.issue_closure c ON c.descendant_id = i.parent_issue_id
+            WHERE i.id IN (:issueIds)
+            """, nativeQuery = true)
+    int insertPaths(@Param("issueIds") Collection<Long> issueIds);
+
+    // перенос поддерева: сначала отрываем его от старых предков (пути внутри поддерева остаются)...
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "issue_service_schema.issue_closure"))
+    @Query(value = """
+            DELETE FROM issue_service_schema.issue_closure
+            WHERE descendant_id IN (
+                SELECT descendant_id FROM issue_service_schema.issue_closure WHERE ancestor_id = :issueId)
+            AND ancestor_id NOT IN (
+                SELECT descendant_id FROM issue_service_schema.issue_closure WHERE ancestor_id = :issueId)
+            """, nativeQuery = true)
+    int detachSubtree(@Param("issueId") Long issueId);
+
+    // ...затем соединяем каждого предка нового родителя с каждым узлом поддерева
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "issue_service_schema.issue_closure"))
+    @Query(value = """
+            INSERT INTO issue_service_schema.issue_closure (ancestor_id, descendant_id, depth)
+            SELECT p.ancestor_id, s.descendant_id, p.depth + s.depth + 1
+            FROM issue_service_schema.issue_closure p
+            CROSS JOIN issue_service_schema.issue_closure s
+            WHERE p.descendant_id = :parentId AND s.ancestor_id = :issueId
+            """, nativeQuery = true)
+    int attachSubtree(@Param("issueId") Long issueId, @Param("parentId") Long parentId);
+
+    @Query("""
+            SELECT new com.example.issueservice.dto.response.IssueTreeNodeResponse(
+                i.id, p.id, i.type, i.status, i.priority, i.title, i.assigneeId, c.depth)
+            FROM IssueClosure c
+            JOIN Issue i ON i.id = c.id.descendantId
+            LEFT JOIN i.parentIssue p
+            WHERE c.id.ancestorId = :issueId
+            ORDER BY c.depth, i.id
+            """)
+    List<IssueTreeNodeResponse> findSubtree(@Param("issueId") Long issueId);
+
+    @Query("""
+            SELECT i.status AS status, COUNT(i) AS count
+            FROM IssueClosure c
+            JOIN Issue i ON i.id = c.id.descendantId
+            WHERE c.id.ancestorId = :issueId AND c.depth > 0
+            GROUP BY i.status
+            """)
+    List<StatusCount> countDescendantsByStatus(@Param("issueId") Long issueId);
+
+    // удаление поддерева набором запросов вместо каскада JPA, который грузит каждого потомка в память
+    // порядок важен: closure удаляется последней, т.к. подзапросы остальных запросов читают ее
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "issue_service_schema.issue_tags"))
+    @Query(value = """
+            DELETE FROM issue_service_schema.issue_tags
+            WHERE issue_id IN (
+                SELECT descendant_id FROM issue_service_schema.issue_closure WHERE ancestor_id = :issueId)
+            """, nativeQuery = true)
+    int deleteSubtreeTags(@Param("issueId") Long issueId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "issue_service_schema.issue_comments"))
+    @Query(value = """
+            DELETE FROM issue_service_schema.issue_comments
+            WHERE issue_id IN (
+                SELECT descendant_id FROM issue_service_schema.issue_closure WHERE ancestor_id = :issueId)
+            """, nativeQuery = true)
+    int deleteSubtreeComments(@Param("issueId") Long issueId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "issue_service_schema.attachments"))
+    @Query(value = """
+            DELETE FROM issue_service_schema.attachments
+            WHERE issue_id IN (
+                SELECT descendant_id FROM issue_service_schema.issue_closure WHERE ancestor_id = :issueId)
+            """, nativeQuery = true)
+    int deleteSubtreeAttachments(@Param("issueId") Long issueId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "issue_service_schema.issues"))
+    @Query(value = """
+            DELETE FROM issue_service_schema.issues
+            WHERE id IN (
+                SELECT descendant_id FROM issue_service_schema.issue_closure WHERE ancestor_id = :issueId)
+            """, nativeQuery = true)
+    int deleteSubtreeIssues(@Param("issueId") Long issueId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "issue_service_schema.issue_closure"))
+    @Query(value = """
+            DELETE FROM issue_service_schema.issue_closure
+            WHERE descendant_id IN (
+                SELECT descendant_id FROM issue_service_schema.issue_closure WHERE ancestor_id = :issueId)
+            """, nativeQuery = true)
+    int deleteSubtreePaths(@Param("issueId") Long issueId);
+
+    interface StatusCount {
+        IssueStatus getStatus();
+
+        long getCount();
+    }
+}
@@ -1,9 +1,16 @@
 package com.example.issueservice.repositories;
 
 import com.example.issueservice.dto.models.Issue;
+import com.example.issueservice.dto.models.enums.IssueStatus;
+import com.example.issueservice.dto.models.enums.IssueType;
+import com.example.issueservice.dto.models.enums.Priority;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,4 +24,157 @@ public interface IssueRepository extends JpaRepository<Issue, Long> {
     Optional<Issue> findWithFieldsById(Long id);
 
     List<Issue> findAllByProjectId(Long projectId);
-}
\ No newline at end of file
+
+    @EntityGraph(attributePaths = {"tags"})
+    List<Issue> findWithTagsByIdIn(Collection<Long> ids);
+
+    // строки для TagIndexService: только поля, по которым фильтрует индекс
+
+    @Query("SELECT i.id AS id, i.status AS status, i.assigneeId AS assigneeId FROM Issue i WHERE i.projectId = :projectId")
+    List<IssueIndexRow> findIndexRowsByProjectId(@Param("projectId") Long projectId);
+
+    @Query("SELECT i.id AS id, i.status AS status, i.assigneeId AS assigneeId FROM Issue i WHERE i.id IN :ids")
+    List<IssueIndexRow> findIndexRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT i.id AS issueId, t.id AS tagId FROM Issue i JOIN i.tags t WHERE i.projectId = :projectId")
+    List<IssueTagRow> findTagRowsByProjectId(@Param("projectId") Long projectId);
+
+    @Query("SELECT i.id AS issueId, t.id AS tagId FROM Issue i JOIN i.tags t WHERE i.id IN :ids")
+    List<IssueTagRow> findTagRowsByIssueIdIn(@Param("ids") Collection<Long> ids);
+
+    interface IssueIndexRow {
+        Long getId();
+
+        IssueStatus getStatus();
+
+        Long getAssigneeId();
+    }
+
+    interface IssueTagRow {
+        Long getIssueId();
+
+        Long getTagId();
+    }
+
+    // строки для ProjectSnapshotService, по возрастанию id
+
+    @Query("""
+            SELECT i.id AS id, i.status AS status, i.type AS type, i.priority AS priority,
+                   i.assigneeId AS assigneeId, i.codeReviewerId AS codeReviewerId, i.qaEngineerId AS qaEngineerId,
+                   p.id AS parentId, i.level AS level, i.deadline AS deadline
+            FROM Issue i LEFT JOIN i.parentIssue p
+            WHERE i.projectId = :projectId
+            ORDER BY i.id
+            """)
+    List<IssueSnapshotRow> findSnapshotRowsByProjectId(@Param("projectId") Long projectId);
+
+    @Query("""
+            SELECT i.id AS id, i.status AS status, i.type AS type, i.priority AS priority,
+                   i.assigneeId AS assigneeId, i.codeReviewerId AS codeReviewerId, i.qaEngineerId AS qaEngineerId,
+                   p.id AS parentId, i.level AS level, i.deadline AS deadline
+            FROM Issue i LEFT JOIN i.parentIssue p
+            WHERE i.id IN :ids
+            ORDER BY i.id
+            """)
+    List<IssueSnapshotRow> findSnapshotRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // полнотекстовый поиск (search_vector, V5/V6): совпадение в заголовке/описании или в комментариях задачи,
+    // совпадение только в комментарии весит вдвое меньше; ts_headline считается только для строк страницы
+    // ts_headline возвращает текст задачи как есть, поэтому он HTML-экранируется до подсветки:
+    // в titleHighlight/snippet разметкой остаются только вставленные <mark>
+    @Query(value = """
+            WITH q AS (SELECT websearch_to_tsquery('russian', :query) AS query),
+            matches AS (
+                SELECT i.id AS issue_id, ts_rank_cd(i.search_vector, q.query) AS rank, false AS in_comment
+                FROM issue_service_schema.issues i
+                CROSS JOIN q
+                WHERE i.project_id IN (:projectIds) AND i.search_vector @@ q.query
+                UNION ALL
+                SELECT c.issue_id, ts_rank_cd(c.search_vector, q.query) * 0.5, true
+                FROM issue_service_schema.issue_comments c
+                JOIN issue_service_schema.issues i ON i.id = c.issue_id
+                CROSS JOIN q
+                WHERE i.project_id IN (:projectIds) AND c.search_vector @@ q.query
+            ),
+            page AS (
+                SELECT issue_id, max(rank) AS rank, bool_or(in_comment) AS in_comments
+                FROM matches
+                GROUP BY issue_id
+                ORDER BY rank DESC, issue_id DESC
+                LIMIT :limit OFFSET :offset
+            )
+            SELECT i.id AS "id", i.project_id AS "projectId", p.rank AS "rank",
+                   p.in_comments AS "matchedInComments",
+                   ts_headline('russian', e.title, q.query,
+                       'HighlightAll=true, StartSel=<mark>, StopSel=</mark>') AS "titleHighlight",
+                   ts_headline('russian', e.description, q.query,
+                       'StartSel=<mark>, StopSel=</mark>, MaxFragments=2, MinWords=5, MaxWords=20') AS "snippet"
+            FROM page p
+            JOIN issue_service_schema.issues i ON i.id = p.issue_id
+            CROSS JOIN q
+            CROSS JOIN LATERAL (
+                SELECT replace(replace(replace(replace(replace(i.title,
+                           '&', '&amp;'), '<', '&lt;'), '>', '&gt;'), '"', '&quot;'), '''', '&#39;') AS title,
+                       replace(replace(replace(replace(replace(coalesce(i.description, ''),
+                           '&', '&amp;'), '<', '&lt;'), '>', '&gt;'), '"', '&quot;'), '''', '&#39;') AS description
+            ) e
+            ORDER BY p.rank DESC, i.id DESC
+            """, nativeQuery = true)
+    List<IssueSearchRow> search(@Param("projectIds") Collection<Long> projectIds,
+                                @Param("query") String query,
+                                @Param("limit") int limit,
+                                @Param("offset") long offset);
+
+    @Query(value = """
+            WITH q AS (SELECT websearch_to_tsquery('russian', :query) AS query)
+            SELECT count(*) FROM (
+                SELECT i.id
+                FROM issue_service_schema.issues i
+                CROSS JOIN q
+                WHERE i.project_id IN (:projectIds) AND i.search_vector @@ q.query
+                UNION
+                SELECT c.issue_id
+                FROM issue_service_schema.issue_comments c
+                JOIN issue_service_schema.issues i ON i.id = c.issue_id
+                CROSS JOIN q
+                WHERE i.project_id IN (:projectIds) AND c.search_vector @@ q.query
+            ) m
+            """, nativeQuery = true)
+    long countSearchMatches(@Param("projectIds") Collection<Long> projectIds, @Param("query") String query);
+
+    interface IssueSearchRow {
+        Long getId();
+
+        Long getProjectId();
+
+        Double getRank();
+
+        Boolean getMatchedInComments();
+
+        String getTitleHighlight();
+
+        String getSnippet();
+    }
+
+    interface IssueSnapshotRow {
+        Long getId();
+
+        IssueStatus getStatus();
+
+        IssueType getType();
+
+        Priority getPriority();
+
+        Long getAssigneeId();
+
+        Long getCodeReviewerId();
+
+        Long getQaEngineerId();
+
+        Long getParentId();
+
+        Integer getLevel();
+
+        LocalDateTime getDeadline();
+    }
+}
@@ -1,13 +1,21 @@
 package com.example.issueservice.repositories;
 
 import com.example.issueservice.dto.models.ProjectTag;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ProjectTagRepository extends JpaRepository<ProjectTag, Long> {
+    // теги проекта читаются при каждой проверке тегов задачи, результат в query cache (см. ehcache.xml)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "projectTagsByProject")
+    })
     List<ProjectTag> findByProjectId(Long projectId);
 
     boolean existsByProjectIdAndName(Long projectId, String name);
@@ -0,0 +1,151 @@
+package com.example.issueservice.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@Slf4j
+public class AsyncEventPublisher {
+
+    // неблокирующая отправка в RabbitMQ: сообщения кладутся в ограниченный буфер,
+    // отдельный поток забирает их пачками и отправляет по одному каналу с correlated publisher confirms
+    // publish() возвращает future, который завершается по ack/nack брокера
+    // при заполненном буфере вызывающий ждет не дольше offer-timeout, затем получает отказ (backpressure)
+
+    private final RabbitTemplate rabbitTemplate;
+    private final BlockingQueue<PendingMessage> buffer;
+    private final int batchSize;
+    private final long offerTimeoutMillis;
+
+    private final Timer confirmLatency;
+    private final Counter nacks;
+    private final Counter rejected;
+
+    private volatile boolean running;
+    private Thread sender;
+
+    public AsyncEventPublisher(RabbitTemplate rabbitTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${events.publisher.buffer-size:1000}") int bufferSize,
+                               @Value("${events.publisher.batch-size:50}") int batchSize,
+                               @Value("${events.publisher.offer-timeout-ms:500}") long offerTimeoutMillis) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.batchSize = batchSize;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+
+        Gauge.builder("events.publisher.queue.depth", buffer, BlockingQueue::size)
+                .register(meterRegistry);
+        this.confirmLatency = Timer.builder("events.publisher.confirm.latency")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.nacks = Counter.builder("events.publisher.nacks").register(meterRegistry);
+        this.rejected = Counter.builder("events.publisher.rejected").register(meterRegistry);
+    }
+
+    public CompletableFuture<Void> publish(String exchange, String routingKey, Message message) {
+        PendingMessage pending = new PendingMessage(exchange, routingKey, message, new CompletableFuture<>());
+
+        try {
+            if (!buffer.offer(pending, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                rejected.increment();
+                pending.future().completeExceptionally(new AmqpException("Event publish buffer is full"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.future().completeExceptionally(new AmqpException("Interrupted while publishing event", e));
+        }
+
+        return pending.future();
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        sender = new Thread(this::drainLoop, "event-publisher");
+        sender.setDaemon(true);
+        sender.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        sender.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    private void drainLoop() {
+        List<PendingMessage> batch = new ArrayList<>(batchSize);
+
+        while (running || !buffer.isEmpty()) {
+            try {
+                PendingMessage first = buffer.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, batchSize - 1);
+
+                sendBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Failed to send batch of {} events: {}", batch.size(), e.getMessage());
+                batch.forEach(pending -> pending.future().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void sendBatch(List<PendingMessage> batch) {
+        rabbitTemplate.invoke(operations -> {
+            for (PendingMessage pending : batch) {
+                CorrelationData correlation = new CorrelationData(
+                        pending.message().getMessageProperties().getMessageId());
+                long sentAt = System.nanoTime();
+
+                correlation.getFuture().whenComplete((confirm, error) -> {
+                    confirmLatency.record(System.nanoTime() - sentAt, TimeUnit.NANOSECONDS);
+                    if (error != null) {
+                        pending.future().completeExceptionally(error);
+                    } else if (!confirm.isAck()) {
+                        nacks.increment();
+                        pending.future().completeExceptionally(new AmqpException(
+                                "Broker rejected event " + correlation.getId() + ": " + confirm.getReason()));
+                    } else {
+                        pending.future().complete(null);
+                    }
+                });
+
+                operations.send(pending.exchange(), pending.routingKey(), pending.message(), correlation);
+            }
+            return null;
+        });
+    }
+
+    private record PendingMessage(
+            String exchange,
+            String routingKey,
+            Message message,
+            CompletableFuture<Void> future
+    ) {}
+}
@@ -3,6 +3,7 @@ package com.example.issueservice.services;
 import com.example.issueservice.dto.models.Issue;
 import com.example.issueservice.dto.models.Attachment;
 import com.example.issueservice.dto.rabbit.AttachmentCreatedEvent;
+import com.example.issueservice.dto.rabbit.AttachmentDeletedEvent;
 import com.example.issueservice.dto.response.AttachmentResponse;
 import com.example.issueservice.dto.response.UserPermissionsResponse;
 import com.example.issueservice.dto.models.enums.ActionType;
@@ -74,7 +75,7 @@ public class AttachmentService {
             log.info("User {} uploaded attachment {} to issue {}", userId, attachment.getId(), issueId);
 
             eventPublisher.publishEvent(
-                    AttachmentCreatedEvent.from(attachment, userId)
+                    AttachmentCreatedEvent.from(attachment)
             );
 
             return AttachmentResponse.from(attachment);
@@ -118,7 +119,7 @@ public class AttachmentService {
         }
 
         eventPublisher.publishEvent(
-                AttachmentCreatedEvent.from(attachment, userId)
+                AttachmentDeletedEvent.from(attachment, userId)
         );
 
         attachmentRepository.delete(attachment);
@@ -5,10 +5,14 @@ import com.example.issueservice.dto.models.enums.ActionType;
 import com.example.issueservice.dto.models.enums.EntityType;
 import com.example.issueservice.dto.response.UserPermissionsResponse;
 import com.example.issueservice.exception.AccessDeniedException;
+import com.example.issueservice.exception.ProjectNotFoundException;
+import com.example.issueservice.exception.ServiceUnavailableException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -22,6 +26,28 @@ public class AuthService {
         }
     }
 
+    // несколько проверок по одному чтению прав (массовые операции)
+    public void hasPermissions(Long userId, Long projectId, EntityType entity, Collection<ActionType> actions) {
+        UserPermissionsResponse perms = cacheReader.getUserPermissions(userId, projectId);
+        for (ActionType action : actions) {
+            if (!perms.permissions().contains(entity.name() + ":" + action.name())) {
+                throw new AccessDeniedException("User has no permission for " + action + " to " + entity);
+            }
+        }
+    }
+
+    // проверка без исключения: отбор проектов, по которым пользователю можно показывать данные
+    public boolean canAccess(Long userId, Long projectId, EntityType entity, ActionType action) {
+        try {
+            UserPermissionsResponse perms = cacheReader.getUserPermissions(userId, projectId);
+            return perms.permissions().contains(entity.name() + ":" + action.name());
+        } catch (ProjectNotFoundException | ServiceUnavailableException e) {
+            // удаленный проект или отказ board-service (в том числе 403 для не-участника) - проект просто пропускается
+            log.warn("Skipping project {} for user {}: {}", projectId, userId, e.getMessage());
+            return false;
+        }
+    }
+
     public UserPermissionsResponse getUserPermissions(Long userId, Long projectId) {
         return cacheReader.getUserPermissions(userId, projectId);
     }
@@ -0,0 +1,174 @@
+package com.example.issueservice.services;
+
+import com.example.issueservice.client.BoardServiceClient;
+import com.example.issueservice.dto.models.Issue;
+import com.example.issueservice.dto.models.ProjectTag;
+import com.example.issueservice.dto.models.enums.ActionType;
+import com.example.issueservice.dto.models.enums.AssignmentType;
+import com.example.issueservice.dto.models.enums.EntityType;
+import com.example.issueservice.dto.models.enums.IssueStatus;
+import com.example.issueservice.dto.rabbit.IssueBulkUpdatedEvent;
+import com.example.issueservice.dto.rabbit.IssueStatusChangedEvent;
+import com.example.issueservice.dto.request.BulkIssueUpdateRequest;
+import com.example.issueservice.dto.response.InternalIssueResponse;
+import com.example.issueservice.exception.AccessDeniedException;
+import com.example.issueservice.exception.IssueNotFoundException;
+import com.example.issueservice.exception.ProjectTagNotFoundException;
+import com.example.issueservice.exception.UserNotFoundException;
+import com.example.issueservice.repositories.IssueRepository;
+import com.example.issueservice.repositories.ProjectTagRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BulkIssueService {
+
+    // массовое изменение задач одной транзакцией:
+    // задачи грузятся одним запросом, права проверяются один раз на проект,
+    // изменения уходят при flush пачками UPDATE (hibernate.jdbc.batch_size + order_updates),
+    // на каждый проект публикуется одно IssueBulkUpdatedEvent
+
+    private final IssueRepository issueRepository;
+    private final ProjectTagRepository tagRepository;
+    private final AuthService authService;
+    private final TransitionService transitionService;
+    private final AssignHelper assignHelper;
+    private final BoardServiceClient boardClient;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public List<InternalIssueResponse> updateIssues(Long userId, BulkIssueUpdateRequest request) {
+        Set<Long> issueIds = new LinkedHashSet<>(request.issueIds());
+        log.info("Bulk update of {} issues by user {}", issueIds.size(), userId);
+
+        List<Issue> issues = request.tagIds() != null
+                ? issueRepository.findWithTagsByIdIn(issueIds)
+                : issueRepository.findAllById(issueIds);
+
+        if (issues.size() != issueIds.size()) {
+            Set<Long> found = issues.stream().map(Issue::getId).collect(Collectors.toSet());
+            issueIds.removeAll(found);
+            throw new IssueNotFoundException("Issues not found: " + issueIds);
+        }
+
+        Map<Long, List<Issue>> issuesByProject = issues.stream()
+                .collect(Collectors.groupingBy(Issue::getProjectId, LinkedHashMap::new, Collectors.toList()));
+
+        Set<ActionType> requiredActions = requiredActions(request);
+        AssignmentType assignmentType = request.assignmentTypeOrDefault();
+
+        for (Map.Entry<Long, List<Issue>> entry : issuesByProject.entrySet()) {
+            Long projectId = entry.getKey();
+            List<Issue> projectIssues = entry.getValue();
+
+            authService.hasPermissions(userId, projectId, EntityType.ISSUE, requiredActions);
+
+            Set<ProjectTag> tags = null;
+            if (request.tagIds() != null) {
+                authService.hasPermission(userId, projectId, EntityType.TAG, ActionType.APPLY);
+                projectIssues.forEach(issue -> validateTagEditor(issue, userId));
+                tags = findProjectTags(request.tagIds(), projectId);
+            }
+            if (request.assigneeId() != null) {
+                validateUserInProject(request.assigneeId(), projectId);
+            }
+
+            List<IssueStatusChangedEvent> statusChanges = new ArrayList<>();
+
+            for (Issue issue : projectIssues) {
+                // переход проверяется по исходному состоянию задачи, как при отдельном запросе на смену статуса,
+                // поэтому выполняется до назначения исполнителя
+                if (request.targetStatus() != null && issue.getStatus() != request.targetStatus()) {
+                    IssueStatus oldStatus = issue.getStatus();
+                    transitionService.applyOwnerTransition(issue, request.targetStatus());
+                    statusChanges.add(IssueStatusChangedEvent.from(issue, userId, oldStatus.name()));
+                }
+                if (request.assigneeId() != null) {
+                    assignHelper.validateRoleAvailable(issue, request.assigneeId(), assignmentType);
+                    assignHelper.setAssignee(issue, assignmentType, request.assigneeId());
+                }
+                if (request.priority() != null) {
+                    issue.setPriority(request.priority());
+                }
+                if (tags != null) {
+                    issue.setTags(new HashSet<>(tags));
+                }
+            }
+
+            eventPublisher.publishEvent(new IssueBulkUpdatedEvent(
+                    projectId,
+                    projectIssues.stream().map(Issue::getId).toList(),
+                    userId,
+                    request.priority() != null ? request.priority().name() : null,
+                    request.tagIds(),
+                    request.assigneeId(),
+                    request.assigneeId() != null ? assignmentType.name() : null,
+                    statusChanges,
+                    Instant.now()
+            ));
+        }
+
+        issueRepository.saveAll(issues);
+        log.info("Bulk updated {} issues in {} projects", issues.size(), issuesByProject.size());
+
+        return issues.stream()
+                .map(InternalIssueResponse::from)
+                .toList();
+    }
+
+    private static Set<ActionType> requiredActions(BulkIssueUpdateRequest request) {
+        Set<ActionType> actions = EnumSet.noneOf(ActionType.class);
+        if (request.targetStatus() != null) {
+            actions.add(ActionType.FULL_TRANSITION);
+        }
+        if (request.priority() != null) {
+            actions.add(ActionType.EDIT);
+        }
+        if (request.assigneeId() != null) {
+            actions.add(ActionType.ASSIGN);
+        }
+        return actions;
+    }
+
+    // теги задачи меняет только ее исполнитель, как в IssueService.assignTagsToIssue
+    private static void validateTagEditor(Issue issue, Long userId) {
+        if (issue.getAssigneeId() == null) {
+            throw new AccessDeniedException("Issue " + issue.getId() + " has no assignee. Cannot modify tags.");
+        }
+        if (!issue.getAssigneeId().equals(userId)) {
+            throw new AccessDeniedException("Only the assignee can modify tags of issue " + issue.getId());
+        }
+    }
+
+    private Set<ProjectTag> findProjectTags(List<Long> tagIds, Long projectId) {
+        if (tagIds.isEmpty()) {
+            return Set.of();
+        }
+
+        Set<ProjectTag> tags = new HashSet<>(tagRepository.findAllById(tagIds));
+        if (tags.size() != new HashSet<>(tagIds).size()) {
+            throw new ProjectTagNotFoundException("One or more tags not found");
+        }
+        if (!tags.stream().allMatch(tag -> tag.getProjectId().equals(projectId))) {
+            throw new ProjectTagNotFoundException("All tags must belong to project " + projectId);
+        }
+        return tags;
+    }
+
+    private void validateUserInProject(Long userId, Long projectId) {
+        try {
+            boardClient.getMember(userId, projectId);
+        } catch (Exception e) {
+            throw new UserNotFoundException("User " + userId + " is not a member of project " + projectId);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.issueservice.services;
+
+import com.example.issueservice.dto.models.OutboxEvent;
+import com.example.issueservice.dto.rabbit.IssueStatusChangedBatchEvent;
+import com.example.issueservice.dto.rabbit.IssueStatusChangedEvent;
+import com.example.issueservice.dto.rabbit.IssueUpdatedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Slf4j
+public class EventCoalescer {
+
+    // схлопывание событий внутри пачки OutboxRelay: окно равно интервалу релея (outbox.relay.interval-ms)
+    // IssueUpdatedEvent по одной задаче - побеждает последнее (событие не несет diff, только факт изменения)
+    // IssueStatusChangedEvent одного проекта - один конверт IssueStatusChangedBatchEvent со всеми переходами
+    // схлопнутое событие встает на место последнего из группы, порядок относительно остальных событий сохраняется
+
+    private static final String ISSUE_UPDATED = IssueUpdatedEvent.class.getSimpleName();
+    private static final String STATUS_CHANGED = IssueStatusChangedEvent.class.getSimpleName();
+    private static final String STATUS_BATCH_EVENT = "status.changed.batch";
+
+    private final EventCodec codec;
+    private final boolean coalesceUpdates;
+    private final boolean batchStatusChanges;
+    private final Counter coalesced;
+
+    public EventCoalescer(EventCodec codec,
+                          MeterRegistry meterRegistry,
+                          @Value("${events.coalescing.updates:false}") boolean coalesceUpdates,
+                          @Value("${events.coalescing.status-batch:false}") boolean batchStatusChanges) {
+        this.codec = codec;
+        this.coalesceUpdates = coalesceUpdates;
+        this.batchStatusChanges = batchStatusChanges;
+        this.coalesced = Counter.builder("events.coalesced").register(meterRegistry);
+    }
+
+    // возвращает события для отправки; исходные строки outbox удаляются релеем целиком
+    public List<OutboxEvent> coalesce(List<OutboxEvent> batch) {
+        if ((!coalesceUpdates && !batchStatusChanges) || batch.size() < 2) {
+            return batch;
+        }
+
+        Map<Integer, Long> issueOfUpdate = new HashMap<>();
+        Map<Long, Integer> lastUpdateByIssue = new HashMap<>();
+        Map<Long, List<Integer>> statusChangesByProject = new LinkedHashMap<>();
+
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            if (coalesceUpdates && ISSUE_UPDATED.equals(event.getEventType())) {
+                IssueUpdatedEvent updated = read(event, IssueUpdatedEvent.class);
+                if (updated != null) {
+                    issueOfUpdate.put(i, updated.issueId());
+                    lastUpdateByIssue.put(updated.issueId(), i);
+                }
+            } else if (batchStatusChanges && STATUS_CHANGED.equals(event.getEventType())) {
+                IssueStatusChangedEvent changed = read(event, IssueStatusChangedEvent.class);
+                if (changed != null) {
+                    statusChangesByProject.computeIfAbsent(changed.projectId(), id -> new ArrayList<>()).add(i);
+                }
+            }
+        }
+
+        // позиция -> событие, которое нужно отправить вместо исходного; null - исходное выбрасывается
+        Map<Integer, OutboxEvent> replacements = new HashMap<>();
+
+        issueOfUpdate.forEach((position, issueId) -> {
+            if (lastUpdateByIssue.get(issueId) != position.intValue()) {
+                replacements.put(position, null);
+            }
+        });
+
+        for (Map.Entry<Long, List<Integer>> group : statusChangesByProject.entrySet()) {
+            List<Integer> positions = group.getValue();
+            if (positions.size() < 2) {
+                continue;
+            }
+
+            List<IssueStatusChangedEvent> changes = new ArrayList<>(positions.size());
+            for (int position : positions) {
+                changes.add(read(batch.get(position), IssueStatusChangedEvent.class));
+                replacements.put(position, null);
+            }
+
+            OutboxEvent last = batch.get(positions.getLast());
+            OutboxEvent envelope = envelope(last, IssueStatusChangedBatchEvent.of(group.getKey(), changes));
+            if (envelope != null) {
+                replacements.put(positions.getLast(), envelope);
+            } else {
+                positions.forEach(replacements::remove);
+            }
+        }
+
+        if (replacements.isEmpty()) {
+            return batch;
+        }
+
+        List<OutboxEvent> result = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            if (!replacements.containsKey(i)) {
+                result.add(batch.get(i));
+            } else if (replacements.get(i) != null) {
+                result.add(replacements.get(i));
+            }
+        }
+
+        coalesced.increment(batch.size() - result.size());
+        log.debug("Coalesced {} outbox events into {}", batch.size(), result.size());
+        return result;
+    }
+
+    // messageId берем у последнего события группы: при повторной отправке пачки конверт получит тот же id
+    private OutboxEvent envelope(OutboxEvent last, IssueStatusChangedBatchEvent event) {
+        try {
+            String routingKey = EventProducerService.routingKey(event.projectId(), STATUS_BATCH_EVENT);
+            String contentType = codec.contentTypeFor(routingKey);
+            return OutboxEvent.builder()
+                    .id(last.getId())
+                    .messageId(last.getMessageId())
+                    .eventType(IssueStatusChangedBatchEvent.class.getSimpleName())
+                    .routingKey(routingKey)
+                    .contentType(contentType)
+                    .payload(codec.encode(event, contentType))
+                    .createdAt(last.getCreatedAt())
+                    .build();
+        } catch (IOException e) {
+            log.error("Failed to serialize status change envelope: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private <T> T read(OutboxEvent event, Class<T> type) {
+        try {
+            return codec.decode(event.getPayload(), event.getContentType(), type);
+        } catch (IOException e) {
+            log.warn("Failed to read outbox event {} for coalescing: {}", event.getMessageId(), e.getMessage());
+            return null;
+        }
+    }
+}
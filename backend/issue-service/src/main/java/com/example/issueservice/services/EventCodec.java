@@ -0,0 +1,81 @@
+package com.example.issueservice.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.regex.Pattern;
+
+@Component
+public class EventCodec {
+
+    // кодирование событий activity.exchange: по умолчанию JSON (его ждут .NET-сервисы),
+    // для routing key из events.encoding.cbor-routing-keys - компактный CBOR
+    // шаблоны в синтаксисе topic exchange: * - одно слово, # - ноль или больше слов
+    // тип передается в content-type сообщения, консьюмер выбирает десериализатор по нему
+
+    public static final String JSON = "application/json";
+    public static final String CBOR = "application/cbor";
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper cborMapper;
+    private final List<Pattern> cborRoutingKeys;
+
+    public EventCodec(ObjectMapper objectMapper,
+                      @Value("${events.encoding.cbor-routing-keys:}") List<String> cborRoutingKeys) {
+        this.jsonMapper = objectMapper;
+        // копия с теми же модулями и настройками (даты, имена полей), меняется только формат
+        this.cborMapper = objectMapper.copyWith(new CBORFactory());
+        this.cborRoutingKeys = cborRoutingKeys.stream()
+                .filter(pattern -> !pattern.isBlank())
+                .map(EventCodec::compile)
+                .toList();
+    }
+
+    public String contentTypeFor(String routingKey) {
+        for (Pattern pattern : cborRoutingKeys) {
+            if (pattern.matcher(routingKey).matches()) {
+                return CBOR;
+            }
+        }
+        return JSON;
+    }
+
+    public byte[] encode(Object event, String contentType) throws JsonProcessingException {
+        return mapperFor(contentType).writeValueAsBytes(event);
+    }
+
+    public <T> T decode(byte[] payload, String contentType, Class<T> type) throws IOException {
+        return mapperFor(contentType).readValue(payload, type);
+    }
+
+    private ObjectMapper mapperFor(String contentType) {
+        return CBOR.equals(contentType) ? cborMapper : jsonMapper;
+    }
+
+    private static Pattern compile(String topicPattern) {
+        StringBuilder regex = new StringBuilder();
+        String[] words = topicPattern.trim().split("\\.");
+        for (int i = 0; i < words.length; i++) {
+            String word = words[i];
+            if (word.equals("#")) {
+                // # поглощает соседнюю точку, чтобы "issue.#" совпадал и с "issue"
+                if (words.length == 1) {
+                    regex.append(".*");
+                } else {
+                    regex.append(i == 0 ? "(?:.*\\.)?" : "(?:\\..*)?");
+                }
+                continue;
+            }
+            if (i > 0 && !(i == 1 && words[0].equals("#"))) {
+                regex.append("\\.");
+            }
+            regex.append(word.equals("*") ? "[^.]+" : Pattern.quote(word));
+        }
+        return Pattern.compile(regex.toString());
+    }
+}
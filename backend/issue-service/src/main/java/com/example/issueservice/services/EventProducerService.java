@@ -1,90 +1,152 @@
 package com.example.issueservice.services;
 
+import com.example.issueservice.dto.models.OutboxEvent;
 import com.example.issueservice.dto.rabbit.*;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.issueservice.repositories.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.core.MessageProperties;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
+@Slf4j
 public class EventProducerService {
     private static final String EXCHANGE_NAME = "activity.exchange";
     private static final String MESSAGE_TYPE_PREFIX = "urn:message:Backend.Shared.DTOs:";
-
-    private final RabbitTemplate rabbitTemplate;
-    private final ObjectMapper objectMapper;
-
-    public EventProducerService(RabbitTemplate rabbitTemplate, ObjectMapper objectMapper) {
-        this.rabbitTemplate = rabbitTemplate;
-        this.objectMapper = objectMapper;
+    private static final String ROUTING_KEY_PREFIX = "issue.";
+
+    private final AsyncEventPublisher publisher;
+    private final EventCodec codec;
+    private final OutboxEventRepository outboxRepository;
+    private final long confirmTimeoutMillis;
+
+    public EventProducerService(AsyncEventPublisher publisher, EventCodec codec,
+                                OutboxEventRepository outboxRepository,
+                                @Value("${events.publisher.confirm-timeout-ms:10000}") long confirmTimeoutMillis) {
+        this.publisher = publisher;
+        this.codec = codec;
+        this.outboxRepository = outboxRepository;
+        this.confirmTimeoutMillis = confirmTimeoutMillis;
     }
 
+    // событие не отправляется сразу, а пишется в outbox в текущей транзакции
+    // отправкой в брокер занимается OutboxRelay
     private void sendEvent(Object event, String routingKey) {
         try {
-            String json = objectMapper.writeValueAsString(event);
-            String className = event.getClass().getSimpleName();
+            String contentType = codec.contentTypeFor(routingKey);
+            byte[] payload = codec.encode(event, contentType);
+
+            outboxRepository.save(OutboxEvent.builder()
+                    .messageId(UUID.randomUUID().toString())
+                    .eventType(event.getClass().getSimpleName())
+                    .routingKey(routingKey)
+                    .contentType(contentType)
+                    .payload(payload)
+                    .build());
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize event {}: {}", event.getClass().getSimpleName(), e.getMessage());
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // пачка уходит через AsyncEventPublisher, ждем подтверждения брокера по всем сообщениям сразу
+    // при nack, таймауте или переполненном буфере бросаем AmqpException, и relay откатывает транзакцию
+    public void publishBatch(List<OutboxEvent> events) {
+        CompletableFuture<?>[] confirms = new CompletableFuture<?>[events.size()];
+
+        for (int i = 0; i < events.size(); i++) {
+            OutboxEvent event = events.get(i);
 
             MessageProperties props = new MessageProperties();
-            props.setHeader("MT-MessageType", MESSAGE_TYPE_PREFIX + className);
-            props.setContentType("application/json");
-            props.setContentEncoding("UTF-8");
-            props.setMessageId(UUID.randomUUID().toString());
-
-            Message message = new Message(json.getBytes(StandardCharsets.UTF_8), props);
-            rabbitTemplate.send(EXCHANGE_NAME, routingKey, message);
-
-            System.out.println("Sent " + className + ": " + json);
-        } catch (Exception e) {
-            System.err.println("Failed to send event: " + e.getMessage());
-            throw new RuntimeException(e);
+            props.setHeader("MT-MessageType", MESSAGE_TYPE_PREFIX + event.getEventType());
+            if (EventCodec.CBOR.equals(event.getContentType())) {
+                props.setContentType(EventCodec.CBOR);
+            } else {
+                props.setContentType(EventCodec.JSON);
+                props.setContentEncoding("UTF-8");
+            }
+            props.setMessageId(event.getMessageId());
+
+            confirms[i] = publisher.publish(EXCHANGE_NAME, event.getRoutingKey(), new Message(event.getPayload(), props));
+        }
+
+        try {
+            CompletableFuture.allOf(confirms).get(confirmTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmqpException("Interrupted while waiting for publisher confirms", e);
+        } catch (ExecutionException e) {
+            throw new AmqpException("Failed to publish outbox batch: " + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new AmqpException("No publisher confirms for outbox batch within " + confirmTimeoutMillis + " ms", e);
         }
     }
 
     public void sendAttachmentCreatedEvent(AttachmentCreatedEvent event) {
-        sendEvent(event, "project.created");
+        sendEvent(event, routingKey(event.projectId(), "attachment.created"));
     }
 
     public void sendAttachmentDeletedEvent(AttachmentDeletedEvent event) {
-        sendEvent(event, "project.deleted");
+        sendEvent(event, routingKey(event.projectId(), "attachment.deleted"));
     }
 
     public void sendIssueCreatedEvent(IssueCreatedEvent event) {
-        sendEvent(event, "issue.created");
+        sendEvent(event, routingKey(event.projectId(), "created"));
+    }
+
+    public void sendIssuesImportedEvent(IssuesImportedEvent event) {
+        sendEvent(event, routingKey(event.projectId(), "imported"));
     }
 
     public void sendIssueDeletedEvent(IssueDeletedEvent event) {
-        sendEvent(event, "issue.deleted");
+        sendEvent(event, routingKey(event.projectId(), "deleted"));
     }
 
     public void sendIssueUpdatedEvent(IssueUpdatedEvent event) {
-        sendEvent(event, "issue.updated");
+        sendEvent(event, routingKey(event.projectId(), "updated"));
+    }
+
+    public void sendIssueBulkUpdatedEvent(IssueBulkUpdatedEvent event) {
+        sendEvent(event, routingKey(event.projectId(), "bulk.updated"));
     }
 
     public void sendIssueStatusChangedEvent(IssueStatusChangedEvent event) {
-        sendEvent(event, "issue.status.changed");
+        sendEvent(event, routingKey(event.projectId(), "status.changed"));
     }
 
     public void sendIssueAssigneeAddedEvent(IssueAssigneeAddedEvent event) {
-        sendEvent(event, "issue.assignee.added");
+        sendEvent(event, routingKey(event.projectId(), "assignee.added"));
     }
 
     public void sendIssueAssigneeRemovedEvent(IssueAssigneeRemovedEvent event) {
-        sendEvent(event, "issue.assignee.removed");
+        sendEvent(event, routingKey(event.projectId(), "assignee.removed"));
     }
 
     public void sendIssueCommentCreatedEvent(IssueCommentCreatedEvent event) {
-        sendEvent(event, "issue.comment.created");
+        sendEvent(event, routingKey(event.projectId(), "comment.created"));
     }
 
     public void sendIssueCommentDeletedEvent(IssueCommentDeletedEvent event) {
-        sendEvent(event, "issue.comment.deleted");
+        sendEvent(event, routingKey(event.projectId(), "comment.deleted"));
     }
 
     public void sendIssueCommentUpdatedEvent(IssueCommentUpdatedEvent event) {
-        sendEvent(event, "issue.comment.updated");
+        sendEvent(event, routingKey(event.projectId(), "comment.updated"));
+    }
+
+    // issue.{projectId}.{событие}: консьюмер может подписаться на конкретный тип (issue.*.comment.#)
+    // или на события одного проекта (issue.42.#) и шардировать очереди по projectId
+    public static String routingKey(long projectId, String event) {
+        return ROUTING_KEY_PREFIX + projectId + "." + event;
     }
-}
\ No newline at end of file
+}
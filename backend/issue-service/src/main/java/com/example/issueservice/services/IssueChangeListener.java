@@ -0,0 +1,14 @@
+package com.example.issueservice.services;
+
+import java.util.Collection;
+
+// in-memory представления задач проекта (TagIndexService, ProjectSnapshotService),
+// которые IssueChangeNotifier обновляет после коммита изменений задач
+public interface IssueChangeListener {
+
+    // задачи созданы или изменены: перечитать их строки (вызывается внутри новой транзакции)
+    void issuesChanged(long projectId, Collection<Long> issueIds);
+
+    // изменение нельзя применить точечно (удаление поддерева) - представление проекта строится заново
+    void projectInvalidated(long projectId);
+}
@@ -0,0 +1,87 @@
+package com.example.issueservice.services;
+
+import com.example.issueservice.dto.rabbit.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IssueChangeNotifier {
+
+    // переводит доменные события задач в обновления in-memory представлений после коммита
+    // новая транзакция не read-only: чтение с отстающей реплики вернуло бы в индексы старое состояние
+
+    private final List<IssueChangeListener> listeners;
+
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onIssueCreated(IssueCreatedEvent event) {
+        notifyChanged(event.projectId(), List.of(event.issueId()));
+    }
+
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onIssuesImported(IssuesImportedEvent event) {
+        notifyChanged(event.projectId(), event.issueIds());
+    }
+
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onIssueUpdated(IssueUpdatedEvent event) {
+        notifyChanged(event.projectId(), List.of(event.issueId()));
+    }
+
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onIssueStatusChanged(IssueStatusChangedEvent event) {
+        notifyChanged(event.projectId(), List.of(event.issueId()));
+    }
+
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onIssueAssigneeAdded(IssueAssigneeAddedEvent event) {
+        notifyChanged(event.projectId(), List.of(event.issueId()));
+    }
+
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onIssueAssigneeRemoved(IssueAssigneeRemovedEvent event) {
+        notifyChanged(event.projectId(), List.of(event.issueId()));
+    }
+
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onIssueBulkUpdated(IssueBulkUpdatedEvent event) {
+        notifyChanged(event.projectId(), event.issueIds());
+    }
+
+    // вместе с задачей удалено все поддерево, id потомков в событии нет
+    @TransactionalEventListener
+    public void onIssueDeleted(IssueDeletedEvent event) {
+        listeners.forEach(listener -> listener.projectInvalidated(event.projectId()));
+    }
+
+    private void notifyChanged(long projectId, Collection<Long> issueIds) {
+        if (issueIds.isEmpty()) {
+            return;
+        }
+        for (IssueChangeListener listener : listeners) {
+            try {
+                listener.issuesChanged(projectId, issueIds);
+            } catch (RuntimeException e) {
+                // представление могло разойтись с БД - пусть следующий запрос построит его заново
+                log.warn("Failed to apply issue changes to {} for project {}, dropping it: {}",
+                        listener.getClass().getSimpleName(), projectId, e.getMessage());
+                listener.projectInvalidated(projectId);
+            }
+        }
+    }
+}
@@ -10,34 +10,38 @@ import java.util.Set;
 public class IssueHierarchyValidator {
 
     public void validateHierarchy(Issue issue, Issue parent) {
+        validateHierarchy(issue, parent != null ? parent.getType() : null);
+        if (parent != null) {
+            issue.setProjectId(parent.getProjectId());
+        }
+    }
+
+    // проверка только по типу родителя: импорту не нужно держать уже сохраненных родителей целиком
+    public void validateHierarchy(Issue issue, IssueType parentType) {
         switch (issue.getType()) {
             case EPIC -> {
-                if (parent != null) {
+                if (parentType != null) {
                     throw new InvalidIssueHierarchyException("Epic cannot have a parent");
                 }
                 issue.setLevel(1);
             }
             case STORY, TASK, BUG -> {
-                if (parent != null && parent.getType() != IssueType.EPIC) {
+                if (parentType != null && parentType != IssueType.EPIC) {
                     throw new InvalidIssueHierarchyException(
-                            "Story/Task/Bug can only be child of Epic. Current parent: " + parent.getType());
+                            "Story/Task/Bug can only be child of Epic. Current parent: " + parentType);
                 }
                 issue.setLevel(2);
-                if (parent != null) {
-                    issue.setProjectId(parent.getProjectId());
-                }
             }
             case SUB_TASK -> {
-                if (parent == null) {
+                if (parentType == null) {
                     throw new InvalidIssueHierarchyException("Sub-task must have a parent");
                 }
                 if (!Set.of(IssueType.STORY, IssueType.TASK, IssueType.BUG)
-                        .contains(parent.getType())) {
+                        .contains(parentType)) {
                     throw new InvalidIssueHierarchyException(
-                            "Sub-task can only be child of Story/Task/Bug. Current parent: " + parent.getType());
+                            "Sub-task can only be child of Story/Task/Bug. Current parent: " + parentType);
                 }
                 issue.setLevel(3);
-                issue.setProjectId(parent.getProjectId());
             }
         }
     }
@@ -0,0 +1,312 @@
+package com.example.issueservice.services;
+
+import com.example.issueservice.client.BoardServiceClient;
+import com.example.issueservice.dto.models.Issue;
+import com.example.issueservice.dto.models.enums.*;
+import com.example.issueservice.dto.rabbit.IssuesImportedEvent;
+import com.example.issueservice.dto.request.IssueImportRow;
+import com.example.issueservice.dto.response.IssueImportResponse;
+import com.example.issueservice.exception.InvalidIssueHierarchyException;
+import com.example.issueservice.exception.IssueImportException;
+import com.example.issueservice.exception.IssueNotFoundException;
+import com.example.issueservice.exception.IssueNotInProjectException;
+import com.example.issueservice.exception.ProjectNotFoundException;
+import com.example.issueservice.repositories.IssueRepository;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.*;
+
+@Service
+@Slf4j
+public class IssueImportService {
+
+    // импорт задач из CSV (с заголовком) или NDJSON потоком, без загрузки файла целиком
+    // 1. права и проект проверяются один раз
+    // 2. строки читаются из итератора чанками (issues.import.chunk-size): существующие родители чанка (parentId)
+    //    грузятся одним запросом, задачи проверяются и сохраняются, затем flush/clear
+    // 3. parentKey ссылается только на строку выше по файлу, поэтому родитель к этому моменту уже сохранен;
+    //    между чанками хранятся лишь id и тип задач с key, а не сами строки и сущности
+    // id берутся из пула последовательности, поэтому INSERT уходят пачками (hibernate.jdbc.batch_size)
+    // импорт атомарный: одна транзакция, при любой ошибке не создается ни одной задачи
+
+    public static final String TEXT_CSV = "text/csv";
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    private final IssueRepository issueRepository;
+    private final IssueHierarchyValidator hierarchyValidator;
+    private final IssueTreeService issueTreeService;
+    private final AuthService authService;
+    private final BoardServiceClient boardClient;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final ObjectReader ndjsonReader;
+    private final ObjectReader csvReader;
+    private final int maxRows;
+    private final int chunkSize;
+
+    public IssueImportService(IssueRepository issueRepository,
+                              IssueHierarchyValidator hierarchyValidator,
+                              IssueTreeService issueTreeService,
+                              AuthService authService,
+                              BoardServiceClient boardClient,
+                              ApplicationEventPublisher eventPublisher,
+                              EntityManager entityManager,
+                              ObjectMapper objectMapper,
+                              @Value("${issues.import.max-rows:100000}") int maxRows,
+                              @Value("${issues.import.chunk-size:1000}") int chunkSize) {
+        this.issueRepository = issueRepository;
+        this.hierarchyValidator = hierarchyValidator;
+        this.issueTreeService = issueTreeService;
+        this.authService = authService;
+        this.boardClient = boardClient;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.ndjsonReader = objectMapper.readerFor(IssueImportRow.class);
+        this.csvReader = new CsvMapper()
+                .readerFor(IssueImportRow.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .with(CsvParser.Feature.EMPTY_STRING_AS_NULL);
+        this.maxRows = maxRows;
+        this.chunkSize = chunkSize;
+    }
+
+    @Transactional
+    public IssueImportResponse importIssues(Long userId, Long projectId, MediaType contentType, InputStream body) {
+        authService.hasPermission(userId, projectId, EntityType.ISSUE, ActionType.CREATE);
+
+        try {
+            boardClient.getProjectById(projectId);
+        } catch (Exception e) {
+            throw new ProjectNotFoundException(projectId);
+        }
+
+        log.info("Importing issues into project {} by user {}", projectId, userId);
+
+        boolean csv = isCsv(contentType);
+        ImportState state = new ImportState(userId, projectId, csv ? 2 : 1);
+
+        try (MappingIterator<IssueImportRow> iterator = (csv ? csvReader : ndjsonReader).readValues(body)) {
+            List<IssueImportRow> chunk = new ArrayList<>(chunkSize);
+            while (iterator.hasNextValue()) {
+                if (state.rowsRead == maxRows) {
+                    throw new IssueImportException("Import is limited to " + maxRows + " issues");
+                }
+                chunk.add(iterator.nextValue());
+                state.rowsRead++;
+                if (chunk.size() == chunkSize) {
+                    importChunk(state, chunk);
+                    chunk.clear();
+                }
+            }
+            importChunk(state, chunk);
+        } catch (IOException e) {
+            throw new IssueImportException(state.firstLine + state.rowsRead, "Malformed row: " + e.getMessage());
+        }
+
+        if (state.issueIds.isEmpty()) {
+            throw new IssueImportException("Import file contains no issues");
+        }
+
+        Map<String, Long> issueIdsByKey = new LinkedHashMap<>();
+        state.importedByKey.forEach((key, ref) -> issueIdsByKey.put(key, ref.id()));
+
+        eventPublisher.publishEvent(new IssuesImportedEvent(projectId, userId, state.issueIds, Instant.now()));
+
+        log.info("Imported {} issues into project {}", state.issueIds.size(), projectId);
+        return new IssueImportResponse(state.issueIds.size(), issueIdsByKey);
+    }
+
+    private static boolean isCsv(MediaType contentType) {
+        if (contentType != null && contentType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV))) {
+            return true;
+        }
+        if (contentType != null && contentType.isCompatibleWith(MediaType.parseMediaType(APPLICATION_NDJSON))) {
+            return false;
+        }
+        throw new IssueImportException("Unsupported content type " + contentType + ", expected "
+                + TEXT_CSV + " or " + APPLICATION_NDJSON);
+    }
+
+    private void importChunk(ImportState state, List<IssueImportRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        loadExistingParents(state, rows);
+
+        // родители из этого же чанка еще не получили id, поэтому связываются напрямую по сущности
+        Map<String, Issue> chunkByKey = new HashMap<>();
+        List<Issue> issues = new ArrayList<>(rows.size());
+
+        for (int i = 0; i < rows.size(); i++) {
+            IssueImportRow row = rows.get(i);
+            long line = state.lineOf(i);
+
+            Issue issue = buildIssue(state, row, line);
+            linkParent(state, chunkByKey, issue, row, line);
+
+            if (row.key() != null) {
+                if (state.importedByKey.containsKey(row.key()) || chunkByKey.putIfAbsent(row.key(), issue) != null) {
+                    throw new IssueImportException(line, "duplicate key " + row.key());
+                }
+            }
+            issues.add(issue);
+        }
+
+        persist(issues);
+
+        for (int i = 0; i < rows.size(); i++) {
+            Issue issue = issues.get(i);
+            state.issueIds.add(issue.getId());
+            if (rows.get(i).key() != null) {
+                state.importedByKey.put(rows.get(i).key(), new ImportedIssue(issue.getId(), issue.getType()));
+            }
+        }
+        state.rowsDone += rows.size();
+    }
+
+    private Issue buildIssue(ImportState state, IssueImportRow row, long line) {
+        if (row.title() == null || row.title().isBlank()) {
+            throw new IssueImportException(line, "title is required");
+        }
+
+        return Issue.builder()
+                .projectId(state.projectId)
+                .creatorId(state.userId)
+                .title(row.title())
+                .description(row.description())
+                .type(parseEnum(IssueType.class, row.type(), null, line, "type"))
+                .priority(parseEnum(Priority.class, row.priority(), Priority.MEDIUM, line, "priority"))
+                .status(IssueStatus.TO_DO)
+                .build();
+    }
+
+    // существующие родители (parentId) чанка, которых еще нет в state, грузятся одним запросом
+    private void loadExistingParents(ImportState state, List<IssueImportRow> rows) {
+        Set<Long> parentIds = new HashSet<>();
+        for (IssueImportRow row : rows) {
+            if (row.parentId() != null && !state.existingParents.containsKey(row.parentId())) {
+                parentIds.add(row.parentId());
+            }
+        }
+        if (parentIds.isEmpty()) {
+            return;
+        }
+
+        for (Issue parent : issueRepository.findAllById(parentIds)) {
+            if (!state.projectId.equals(parent.getProjectId())) {
+                throw new IssueNotInProjectException(
+                        "Parent issue " + parent.getId() + " belongs to project " + parent.getProjectId()
+                                + ", not to project " + state.projectId);
+            }
+            state.existingParents.put(parent.getId(), new ImportedIssue(parent.getId(), parent.getType()));
+        }
+    }
+
+    // parentKey - строка выше в этом же файле, parentId - существующая задача проекта
+    private void linkParent(ImportState state, Map<String, Issue> chunkByKey, Issue issue, IssueImportRow row, long line) {
+        if (row.parentKey() != null && row.parentId() != null) {
+            throw new IssueImportException(line, "only one of parentKey and parentId can be set");
+        }
+
+        Issue parent = null;
+        IssueType parentType = null;
+
+        if (row.parentKey() != null) {
+            parent = chunkByKey.get(row.parentKey());
+            if (parent != null) {
+                parentType = parent.getType();
+            } else {
+                ImportedIssue imported = state.importedByKey.get(row.parentKey());
+                if (imported == null) {
+                    throw new IssueImportException(line,
+                            "unknown parentKey " + row.parentKey() + ", parent must be listed before its children");
+                }
+                parent = entityManager.getReference(Issue.class, imported.id());
+                parentType = imported.type();
+            }
+        } else if (row.parentId() != null) {
+            ImportedIssue existing = state.existingParents.get(row.parentId());
+            if (existing == null) {
+                throw new IssueNotFoundException("Parent issue with id " + row.parentId() + " not found");
+            }
+            parent = entityManager.getReference(Issue.class, existing.id());
+            parentType = existing.type();
+        }
+
+        try {
+            hierarchyValidator.validateHierarchy(issue, parentType);
+        } catch (InvalidIssueHierarchyException e) {
+            throw new InvalidIssueHierarchyException("Line " + line + ": " + e.getMessage());
+        }
+        issue.setParentIssue(parent);
+    }
+
+    // родитель всегда выше по файлу, поэтому внутри чанка он сохраняется раньше потомка
+    private void persist(List<Issue> issues) {
+        issueRepository.saveAll(issues);
+
+        // сбрасываем чанк в БД и очищаем контекст, чтобы он не рос на весь импорт
+        entityManager.flush();
+        entityManager.clear();
+
+        // пути в closure добавляются по уровням: чанк может содержать и родителя, и его потомка
+        Map<Integer, List<Long>> idsByLevel = new TreeMap<>();
+        issues.forEach(issue -> idsByLevel.computeIfAbsent(issue.getLevel(), level -> new ArrayList<>())
+                .add(issue.getId()));
+        idsByLevel.values().forEach(issueTreeService::addToTree);
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, E defaultValue, long line, String field) {
+        if (value == null || value.isBlank()) {
+            if (defaultValue == null) {
+                throw new IssueImportException(line, field + " is required");
+            }
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IssueImportException(line, "unknown " + field + " " + value);
+        }
+    }
+
+    // сохраненная задача с key или существующий родитель: для связи с потомком хватает id и типа
+    private record ImportedIssue(Long id, IssueType type) {}
+
+    private static final class ImportState {
+        private final Long userId;
+        private final Long projectId;
+        // номер строки файла для первой задачи: в CSV первая строка - заголовок
+        private final int firstLine;
+        private final Map<String, ImportedIssue> importedByKey = new LinkedHashMap<>();
+        private final Map<Long, ImportedIssue> existingParents = new HashMap<>();
+        private final List<Long> issueIds = new ArrayList<>();
+        private int rowsRead;
+        private int rowsDone;
+
+        private ImportState(Long userId, Long projectId, int firstLine) {
+            this.userId = userId;
+            this.projectId = projectId;
+            this.firstLine = firstLine;
+        }
+
+        private long lineOf(int indexInChunk) {
+            return (long) firstLine + rowsDone + indexInChunk;
+        }
+    }
+}
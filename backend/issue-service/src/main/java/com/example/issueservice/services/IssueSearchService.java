@@ -0,0 +1,73 @@
+package com.example.issueservice.services;
+
+import com.example.issueservice.dto.models.enums.ActionType;
+import com.example.issueservice.dto.models.enums.EntityType;
+import com.example.issueservice.dto.request.IssueSearchRequest;
+import com.example.issueservice.dto.response.IssueSearchResponse;
+import com.example.issueservice.exception.AccessDeniedException;
+import com.example.issueservice.repositories.IssueRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@Slf4j
+public class IssueSearchService {
+
+    // полнотекстовый поиск по tsvector-колонкам задач и комментариев (миграции V5/V6):
+    // Postgres сам поддерживает search_vector при изменениях, GIN-индексы отбирают кандидатов,
+    // ранжирование ts_rank_cd, подсветка ts_headline только для строк текущей страницы
+
+    private final IssueRepository issueRepository;
+    private final AuthService authService;
+    private final Timer searchTimer;
+
+    public IssueSearchService(IssueRepository issueRepository, AuthService authService, MeterRegistry meterRegistry) {
+        this.issueRepository = issueRepository;
+        this.authService = authService;
+        this.searchTimer = Timer.builder("issues.search")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    @Transactional(readOnly = true)
+    public IssueSearchResponse search(Long userId, IssueSearchRequest request) {
+        // права проверяются до запроса: в SQL попадают только проекты, задачи которых пользователь может видеть
+        List<Long> projectIds = request.projectIds().stream()
+                .distinct()
+                .filter(projectId -> authService.canAccess(userId, projectId, EntityType.ISSUE, ActionType.VIEW))
+                .toList();
+        if (projectIds.isEmpty()) {
+            throw new AccessDeniedException("User has no permission for VIEW to ISSUE in requested projects");
+        }
+
+        int page = request.pageOrDefault();
+        int size = request.sizeOrDefault();
+        String query = request.query().strip();
+
+        return searchTimer.record(() -> {
+            List<IssueSearchResponse.Hit> hits = issueRepository
+                    .search(projectIds, query, size, (long) page * size).stream()
+                    .map(row -> new IssueSearchResponse.Hit(
+                            row.getId(),
+                            row.getProjectId(),
+                            row.getRank(),
+                            row.getTitleHighlight(),
+                            row.getSnippet(),
+                            row.getMatchedInComments()))
+                    .toList();
+
+            // неполная первая страница - это все результаты, отдельный подсчет не нужен
+            long total = page == 0 && hits.size() < size
+                    ? hits.size()
+                    : issueRepository.countSearchMatches(projectIds, query);
+
+            log.debug("Search '{}' in projects {}: {} matches", query, projectIds, total);
+            return new IssueSearchResponse(total, page, size, projectIds, hits);
+        });
+    }
+}
@@ -34,6 +34,7 @@ public class IssueService {
     private final ProjectTagRepository tagRepository;
     private final IssueCommentRepository commentRepository;
     private final IssueHierarchyValidator hierarchyValidator;
+    private final IssueTreeService issueTreeService;
     private final AuthService authService;
     private final UserServiceClient userClient;
     private final BoardServiceClient boardClient;
@@ -202,7 +203,9 @@ public class IssueService {
         newIssue.setParentIssue(parentIssue);
         hierarchyValidator.validateHierarchy(newIssue, parentIssue);
 
-        return issueRepository.save(newIssue);
+        Issue savedIssue = issueRepository.save(newIssue);
+        issueTreeService.addToTree(List.of(savedIssue.getId()));
+        return savedIssue;
     }
 
     @Transactional(readOnly = true)
@@ -398,7 +401,8 @@ public class IssueService {
                 IssueDeletedEvent.from(issue, userId)
         );
 
-        issueRepository.deleteById(issueId);
+        // каскад JPA грузил бы в память все поддерево, поэтому удаляем его набором DELETE по closure table
+        issueTreeService.deleteSubtree(issueId);
     }
 
     @Transactional
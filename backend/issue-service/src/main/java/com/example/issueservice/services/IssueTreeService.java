@@ -0,0 +1,130 @@
+package com.example.issueservice.services;
+
+import com.example.issueservice.dto.models.Issue;
+import com.example.issueservice.dto.models.enums.ActionType;
+import com.example.issueservice.dto.models.enums.EntityType;
+import com.example.issueservice.dto.models.enums.IssueStatus;
+import com.example.issueservice.dto.rabbit.IssueUpdatedEvent;
+import com.example.issueservice.dto.response.IssueSubtreeStatsResponse;
+import com.example.issueservice.dto.response.IssueTreeNodeResponse;
+import com.example.issueservice.exception.IssueNotFoundException;
+import com.example.issueservice.exception.IssueNotInProjectException;
+import com.example.issueservice.repositories.IssueClosureRepository;
+import com.example.issueservice.repositories.IssueRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IssueTreeService {
+
+    // иерархия задач в closure table (issue_closure): поддерево и счетчики читаются одним запросом
+    // без рекурсивной ленивой загрузки childIssues, удаление поддерева - несколько DELETE по множеству id
+
+    private final IssueRepository issueRepository;
+    private final IssueClosureRepository closureRepository;
+    private final IssueHierarchyValidator hierarchyValidator;
+    private final AuthService authService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // добавить в closure уже сохраненные задачи одного уровня (их родители должны быть добавлены раньше)
+    @Transactional
+    public void addToTree(Collection<Long> issueIds) {
+        if (issueIds.isEmpty()) {
+            return;
+        }
+        // INSERT читает issues.parent_issue_id, поэтому новые задачи должны быть уже в БД
+        issueRepository.flush();
+        closureRepository.insertPaths(issueIds);
+    }
+
+    @Transactional(readOnly = true)
+    public List<IssueTreeNodeResponse> getSubtree(Long userId, Long issueId) {
+        Issue issue = findIssue(issueId);
+        authService.hasPermission(userId, issue.getProjectId(), EntityType.ISSUE, ActionType.VIEW);
+
+        return closureRepository.findSubtree(issueId);
+    }
+
+    @Transactional(readOnly = true)
+    public IssueSubtreeStatsResponse getSubtreeStats(Long userId, Long issueId) {
+        Issue issue = findIssue(issueId);
+        authService.hasPermission(userId, issue.getProjectId(), EntityType.ISSUE, ActionType.VIEW);
+
+        Map<IssueStatus, Long> byStatus = new EnumMap<>(IssueStatus.class);
+        long total = 0;
+        for (IssueClosureRepository.StatusCount count : closureRepository.countDescendantsByStatus(issueId)) {
+            byStatus.put(count.getStatus(), count.getCount());
+            total += count.getCount();
+        }
+        return new IssueSubtreeStatsResponse(issueId, total, byStatus);
+    }
+
+    @Transactional
+    public List<IssueTreeNodeResponse> moveIssue(Long userId, Long issueId, Long newParentId) {
+        Issue issue = findIssue(issueId);
+        authService.hasPermission(userId, issue.getProjectId(), EntityType.ISSUE, ActionType.EDIT);
+
+        Long currentParentId = issue.getParentIssue() != null ? issue.getParentIssue().getId() : null;
+        if (Objects.equals(currentParentId, newParentId)) {
+            return closureRepository.findSubtree(issueId);
+        }
+
+        Issue newParent = null;
+        if (newParentId != null) {
+            newParent = issueRepository.findById(newParentId)
+                    .orElseThrow(() -> new IssueNotFoundException("Parent issue with id " + newParentId + " not found"));
+            if (!issue.getProjectId().equals(newParent.getProjectId())) {
+                throw new IssueNotInProjectException(
+                        "Parent issue belongs to project " + newParent.getProjectId()
+                                + ", not to project " + issue.getProjectId());
+            }
+        }
+
+        // уровень определяется типом, поэтому допустимый родитель всегда на уровень выше:
+        // уровни поддерева не меняются, а цикл (перенос под собственного потомка) невозможен
+        hierarchyValidator.validateHierarchy(issue, newParent);
+        issue.setParentIssue(newParent);
+        issueRepository.save(issue);
+
+        closureRepository.detachSubtree(issueId);
+        if (newParentId != null) {
+            closureRepository.attachSubtree(issueId, newParentId);
+        }
+
+        eventPublisher.publishEvent(
+                IssueUpdatedEvent.from(issue, userId)
+        );
+
+        log.info("Moved issue {} from parent {} to parent {}", issueId, currentParentId, newParentId);
+        return closureRepository.findSubtree(issueId);
+    }
+
+    // удаляет задачу со всеми потомками, их комментариями, файлами и тегами; возвращает число удаленных задач
+    @Transactional
+    public int deleteSubtree(Long issueId) {
+        closureRepository.deleteSubtreeTags(issueId);
+        closureRepository.deleteSubtreeComments(issueId);
+        closureRepository.deleteSubtreeAttachments(issueId);
+        int deleted = closureRepository.deleteSubtreeIssues(issueId);
+        closureRepository.deleteSubtreePaths(issueId);
+
+        log.info("Deleted subtree of issue {}: {} issues", issueId, deleted);
+        return deleted;
+    }
+
+    private Issue findIssue(Long issueId) {
+        return issueRepository.findById(issueId)
+                .orElseThrow(() -> new IssueNotFoundException("Issue with id " + issueId + " not found"));
+    }
+}
@@ -0,0 +1,335 @@
+package com.example.issueservice.services;
+
+import com.example.issueservice.dto.models.enums.IssueStatus;
+import com.example.issueservice.dto.models.enums.IssueType;
+import com.example.issueservice.dto.models.enums.Priority;
+import com.example.issueservice.dto.request.BoardQueryRequest;
+import com.example.issueservice.dto.response.BoardQueryResponse;
+import com.example.issueservice.repositories.IssueRepository.IssueSnapshotRow;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+// неизменяемый колоночный снимок задач проекта: по массиву примитивов на поле, строки по возрастанию id
+// изменения применяются копированием массивов (withChanges), поэтому читатели работают без блокировок
+final class ProjectSnapshot {
+
+    // пустые ссылки на пользователей/родителя хранятся как 0 (id из последовательностей начинаются с 1)
+    private static final long NONE = 0L;
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    // ключ сортировки упаковывается в long: значение поля в старших битах, номер строки в младших 24,
+    // поэтому сортируется обычный long[] без компаратора и упаковки, а равные значения идут по id
+    private static final int ROW_BITS = 24;
+    private static final long MAX_SORT_VALUE = (1L << (63 - ROW_BITS)) - 1;
+
+    private static final IssueStatus[] STATUSES = IssueStatus.values();
+    private static final IssueType[] TYPES = IssueType.values();
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final int size;
+    private final long[] ids;
+    private final byte[] status;
+    private final byte[] type;
+    private final byte[] priority;
+    private final byte[] level;
+    private final long[] assignee;
+    private final long[] reviewer;
+    private final long[] qa;
+    private final long[] parent;
+    private final long[] deadline;
+    private final long loadedAtNanos;
+
+    private ProjectSnapshot(int capacity, long loadedAtNanos) {
+        if (capacity >= 1 << ROW_BITS) {
+            throw new IllegalStateException("Project has too many issues for a snapshot: " + capacity);
+        }
+        this.size = capacity;
+        this.ids = new long[capacity];
+        this.status = new byte[capacity];
+        this.type = new byte[capacity];
+        this.priority = new byte[capacity];
+        this.level = new byte[capacity];
+        this.assignee = new long[capacity];
+        this.reviewer = new long[capacity];
+        this.qa = new long[capacity];
+        this.parent = new long[capacity];
+        this.deadline = new long[capacity];
+        this.loadedAtNanos = loadedAtNanos;
+    }
+
+    static ProjectSnapshot of(List<IssueSnapshotRow> rows) {
+        ProjectSnapshot snapshot = new ProjectSnapshot(rows.size(), System.nanoTime());
+        for (int i = 0; i < rows.size(); i++) {
+            snapshot.set(i, rows.get(i));
+        }
+        return snapshot;
+    }
+
+    long loadedAtNanos() {
+        return loadedAtNanos;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // новый снимок: строки changedIds заменяются на rows (отсортированы по id), отсутствующих в rows больше нет
+    ProjectSnapshot withChanges(Collection<Long> changedIds, List<IssueSnapshotRow> rows) {
+        long[] changed = changedIds.stream().mapToLong(Long::longValue).sorted().toArray();
+
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (Arrays.binarySearch(changed, ids[i]) < 0) {
+                kept++;
+            }
+        }
+
+        ProjectSnapshot next = new ProjectSnapshot(kept + rows.size(), loadedAtNanos);
+        int target = 0;
+        int source = 0;
+        for (IssueSnapshotRow row : rows) {
+            while (source < size && ids[source] < row.getId()) {
+                if (Arrays.binarySearch(changed, ids[source]) < 0) {
+                    next.copy(target++, this, source);
+                }
+                source++;
+            }
+            if (source < size && ids[source] == row.getId()) {
+                source++;
+            }
+            next.set(target++, row);
+        }
+        for (; source < size; source++) {
+            if (Arrays.binarySearch(changed, ids[source]) < 0) {
+                next.copy(target++, this, source);
+            }
+        }
+        return next;
+    }
+
+    BoardQueryResponse query(BoardQueryRequest request) {
+        RowPredicate predicate = compile(request);
+
+        int[] matches = new int[size];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (predicate.test(row)) {
+                matches[count++] = row;
+            }
+        }
+
+        Map<String, Integer> groups = group(request.groupByOrDefault(), matches, count);
+        List<Long> page = page(request, matches, count);
+
+        return new BoardQueryResponse(count, request.pageOrDefault(), request.sizeOrDefault(), page, groups);
+    }
+
+    // --- фильтр ---
+
+    @FunctionalInterface
+    private interface RowPredicate {
+        boolean test(int row);
+    }
+
+    // запрос компилируется в цепочку проверок только по заданным полям;
+    // наборы enum превращаются в битовые маски по ordinal, поэтому проверка строки - пара сравнений
+    private RowPredicate compile(BoardQueryRequest request) {
+        List<RowPredicate> clauses = new ArrayList<>();
+
+        if (request.statuses() != null && !request.statuses().isEmpty()) {
+            int mask = mask(request.statuses());
+            clauses.add(row -> (mask & (1 << status[row])) != 0);
+        }
+        if (request.types() != null && !request.types().isEmpty()) {
+            int mask = mask(request.types());
+            clauses.add(row -> (mask & (1 << type[row])) != 0);
+        }
+        if (request.priorities() != null && !request.priorities().isEmpty()) {
+            int mask = mask(request.priorities());
+            clauses.add(row -> (mask & (1 << priority[row])) != 0);
+        }
+        if (request.assigneeId() != null) {
+            long value = request.assigneeId();
+            clauses.add(row -> assignee[row] == value);
+        }
+        if (request.codeReviewerId() != null) {
+            long value = request.codeReviewerId();
+            clauses.add(row -> reviewer[row] == value);
+        }
+        if (request.qaEngineerId() != null) {
+            long value = request.qaEngineerId();
+            clauses.add(row -> qa[row] == value);
+        }
+        if (request.parentId() != null) {
+            long value = request.parentId();
+            clauses.add(row -> parent[row] == value);
+        }
+        if (request.level() != null) {
+            int value = request.level();
+            clauses.add(row -> level[row] == value);
+        }
+        if (request.deadlineBefore() != null) {
+            long value = toEpochSecond(request.deadlineBefore());
+            clauses.add(row -> deadline[row] <= value);
+        }
+
+        return switch (clauses.size()) {
+            case 0 -> row -> true;
+            case 1 -> clauses.getFirst();
+            case 2 -> {
+                RowPredicate first = clauses.get(0);
+                RowPredicate second = clauses.get(1);
+                yield row -> first.test(row) && second.test(row);
+            }
+            default -> {
+                RowPredicate[] all = clauses.toArray(RowPredicate[]::new);
+                yield row -> {
+                    for (RowPredicate clause : all) {
+                        if (!clause.test(row)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                };
+            }
+        };
+    }
+
+    private static int mask(Collection<? extends Enum<?>> values) {
+        int mask = 0;
+        for (Enum<?> value : values) {
+            mask |= 1 << value.ordinal();
+        }
+        return mask;
+    }
+
+    // --- группировка ---
+
+    private Map<String, Integer> group(BoardQueryRequest.GroupField field, int[] matches, int count) {
+        Map<String, Integer> groups = new LinkedHashMap<>();
+
+        switch (field) {
+            case STATUS -> putCounts(groups, STATUSES, countOrdinals(status, STATUSES.length, matches, count));
+            case TYPE -> putCounts(groups, TYPES, countOrdinals(type, TYPES.length, matches, count));
+            case PRIORITY -> putCounts(groups, PRIORITIES, countOrdinals(priority, PRIORITIES.length, matches, count));
+            case LEVEL -> {
+                int[] counts = countOrdinals(level, 4, matches, count);
+                for (int value = 1; value < counts.length; value++) {
+                    if (counts[value] > 0) {
+                        groups.put(String.valueOf(value), counts[value]);
+                    }
+                }
+            }
+            case ASSIGNEE -> {
+                Map<Long, int[]> counts = new TreeMap<>();
+                for (int i = 0; i < count; i++) {
+                    counts.computeIfAbsent(assignee[matches[i]], id -> new int[1])[0]++;
+                }
+                counts.forEach((id, counter) -> groups.put(id == NONE ? "NONE" : id.toString(), counter[0]));
+            }
+        }
+        return groups;
+    }
+
+    private static int[] countOrdinals(byte[] column, int cardinality, int[] matches, int count) {
+        int[] counts = new int[cardinality];
+        for (int i = 0; i < count; i++) {
+            counts[column[matches[i]]]++;
+        }
+        return counts;
+    }
+
+    // все значения enum, включая нулевые: пустые колонки доски тоже нужны
+    private static void putCounts(Map<String, Integer> groups, Enum<?>[] values, int[] counts) {
+        for (Enum<?> value : values) {
+            groups.put(value.name(), counts[value.ordinal()]);
+        }
+    }
+
+    // --- сортировка и страница ---
+
+    private List<Long> page(BoardQueryRequest request, int[] matches, int count) {
+        int from = (int) Math.min((long) request.pageOrDefault() * request.sizeOrDefault(), count);
+        int to = Math.min(from + request.sizeOrDefault(), count);
+        boolean descending = Boolean.TRUE.equals(request.descending());
+        BoardQueryRequest.SortField sortBy = request.sortByOrDefault();
+
+        List<Long> issueIds = new ArrayList<>(to - from);
+
+        // строки уже идут по возрастанию id
+        if (sortBy == BoardQueryRequest.SortField.ID) {
+            for (int i = from; i < to; i++) {
+                issueIds.add(ids[matches[descending ? count - 1 - i : i]]);
+            }
+            return issueIds;
+        }
+
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            int row = matches[i];
+            keys[i] = (sortValue(sortBy, row, descending) << ROW_BITS) | row;
+        }
+        Arrays.sort(keys);
+
+        for (int i = from; i < to; i++) {
+            issueIds.add(ids[(int) (keys[i] & ((1 << ROW_BITS) - 1))]);
+        }
+        return issueIds;
+    }
+
+    // задачи без дедлайна всегда в конце, в обоих направлениях
+    private long sortValue(BoardQueryRequest.SortField sortBy, int row, boolean descending) {
+        long value = switch (sortBy) {
+            case STATUS -> status[row];
+            case PRIORITY -> priority[row];
+            case TYPE -> type[row];
+            case LEVEL -> level[row];
+            case DEADLINE -> deadline[row] == NO_DEADLINE
+                    ? MAX_SORT_VALUE
+                    : Math.clamp(deadline[row] / 60, 0, MAX_SORT_VALUE - 1);
+            case ID -> throw new IllegalArgumentException("ID order does not need sort keys");
+        };
+        if (descending && value != MAX_SORT_VALUE) {
+            value = MAX_SORT_VALUE - 1 - value;
+        }
+        return value;
+    }
+
+    // --- заполнение ---
+
+    private void set(int row, IssueSnapshotRow source) {
+        ids[row] = source.getId();
+        status[row] = (byte) source.getStatus().ordinal();
+        type[row] = (byte) source.getType().ordinal();
+        priority[row] = (byte) source.getPriority().ordinal();
+        level[row] = source.getLevel().byteValue();
+        assignee[row] = orNone(source.getAssigneeId());
+        reviewer[row] = orNone(source.getCodeReviewerId());
+        qa[row] = orNone(source.getQaEngineerId());
+        parent[row] = orNone(source.getParentId());
+        deadline[row] = source.getDeadline() != null ? toEpochSecond(source.getDeadline()) : NO_DEADLINE;
+    }
+
+    private void copy(int row, ProjectSnapshot from, int fromRow) {
+        ids[row] = from.ids[fromRow];
+        status[row] = from.status[fromRow];
+        type[row] = from.type[fromRow];
+        priority[row] = from.priority[fromRow];
+        level[row] = from.level[fromRow];
+        assignee[row] = from.assignee[fromRow];
+        reviewer[row] = from.reviewer[fromRow];
+        qa[row] = from.qa[fromRow];
+        parent[row] = from.parent[fromRow];
+        deadline[row] = from.deadline[fromRow];
+    }
+
+    private static long orNone(Long id) {
+        return id != null ? id : NONE;
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+}
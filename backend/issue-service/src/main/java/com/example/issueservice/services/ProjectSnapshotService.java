@@ -0,0 +1,113 @@
+package com.example.issueservice.services;
+
+import com.example.issueservice.dto.models.enums.ActionType;
+import com.example.issueservice.dto.models.enums.EntityType;
+import com.example.issueservice.dto.request.BoardQueryRequest;
+import com.example.issueservice.dto.response.BoardQueryResponse;
+import com.example.issueservice.repositories.IssueRepository;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+@Service
+@Slf4j
+public class ProjectSnapshotService implements IssueChangeListener {
+
+    // запросы доски (фильтр по полям задачи, сортировка, счетчики колонок) выполняются по колоночному
+    // снимку проекта в памяти (ProjectSnapshot) вместо SQL с динамическими условиями на каждый запрос
+    //
+    // снимок неизменяемый: изменения после коммита (IssueChangeNotifier) собирают новый снимок и атомарно
+    // подменяют ссылку в кеше, читатели продолжают работать со старым без блокировок.
+    // снимок старше max-age перечитывается целиком - так подхватываются изменения с других инстансов
+
+    private final IssueRepository issueRepository;
+    private final AuthService authService;
+    private final Cache<Long, ProjectSnapshot> snapshots;
+    private final Timer queryTimer;
+    private final boolean enabled;
+    private final long maxAgeNanos;
+
+    public ProjectSnapshotService(IssueRepository issueRepository,
+                                  AuthService authService,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${issues.snapshot.enabled:true}") boolean enabled,
+                                  @Value("${issues.snapshot.max-projects:500}") long maxProjects,
+                                  @Value("${issues.snapshot.max-age-seconds:60}") long maxAgeSeconds) {
+        this.issueRepository = issueRepository;
+        this.authService = authService;
+        this.enabled = enabled;
+        this.maxAgeNanos = Duration.ofSeconds(maxAgeSeconds).toNanos();
+        // возраст снимка считается от полной загрузки (loadedAtNanos), а не от последней подмены,
+        // поэтому expireAfterWrite не подходит: из кеша вытесняются только давно не запрашиваемые проекты
+        this.snapshots = CacheBuilder.newBuilder()
+                .maximumSize(maxProjects)
+                .expireAfterAccess(Duration.ofSeconds(maxAgeSeconds).multipliedBy(10))
+                .build();
+        this.queryTimer = Timer.builder("issues.snapshot.query")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    @Transactional(readOnly = true)
+    public BoardQueryResponse queryBoard(Long userId, BoardQueryRequest request) {
+        authService.hasPermission(userId, request.projectId(), EntityType.ISSUE, ActionType.VIEW);
+
+        ProjectSnapshot snapshot = getSnapshot(request.projectId());
+        return queryTimer.record(() -> snapshot.query(request));
+    }
+
+    private ProjectSnapshot getSnapshot(Long projectId) {
+        // выключенный кеш: снимок строится на каждый запрос и сразу выбрасывается
+        if (!enabled) {
+            return loadSnapshot(projectId);
+        }
+
+        ProjectSnapshot snapshot = getOrLoad(projectId);
+        if (System.nanoTime() - snapshot.loadedAtNanos() > maxAgeNanos) {
+            snapshots.asMap().remove(projectId, snapshot);
+            snapshot = getOrLoad(projectId);
+        }
+        return snapshot;
+    }
+
+    // снимок строится не дольше одного раза на проект: параллельные запросы ждут того же загрузчика
+    private ProjectSnapshot getOrLoad(Long projectId) {
+        try {
+            return snapshots.get(projectId, () -> loadSnapshot(projectId));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to build snapshot for project " + projectId, e.getCause());
+        }
+    }
+
+    private ProjectSnapshot loadSnapshot(Long projectId) {
+        ProjectSnapshot snapshot = ProjectSnapshot.of(issueRepository.findSnapshotRowsByProjectId(projectId));
+        log.debug("Built snapshot for project {}: {} issues", projectId, snapshot.size());
+        return snapshot;
+    }
+
+    @Override
+    public void issuesChanged(long projectId, Collection<Long> issueIds) {
+        if (snapshots.getIfPresent(projectId) == null) {
+            return;
+        }
+
+        List<IssueRepository.IssueSnapshotRow> rows = issueRepository.findSnapshotRowsByIdIn(issueIds);
+        // computeIfPresent атомарен для ключа: параллельные изменения одного проекта не теряют друг друга
+        snapshots.asMap().computeIfPresent(projectId, (id, snapshot) -> snapshot.withChanges(issueIds, rows));
+    }
+
+    @Override
+    public void projectInvalidated(long projectId) {
+        snapshots.invalidate(projectId);
+    }
+}
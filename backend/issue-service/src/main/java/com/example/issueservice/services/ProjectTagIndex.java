@@ -0,0 +1,158 @@
+package com.example.issueservice.services;
+
+import com.example.issueservice.dto.models.enums.IssueStatus;
+import com.example.issueservice.dto.request.IssueFilterRequest;
+import com.example.issueservice.repositories.IssueRepository;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// индекс задач одного проекта на roaring bitmap (см. TagIndexService): чтение под read lock,
+// точечные обновления под write lock
+final class ProjectTagIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final RoaringBitmap all = new RoaringBitmap();
+    private final Map<Long, RoaringBitmap> byTag = new HashMap<>();
+    private final Map<IssueStatus, RoaringBitmap> byStatus = new EnumMap<>(IssueStatus.class);
+    private final Map<Long, RoaringBitmap> byAssignee = new HashMap<>();
+
+    static ProjectTagIndex of(List<IssueRepository.IssueIndexRow> issues, List<IssueRepository.IssueTagRow> tags) {
+        ProjectTagIndex index = new ProjectTagIndex();
+        for (IssueRepository.IssueIndexRow row : issues) {
+            index.addIssue(row);
+        }
+        for (IssueRepository.IssueTagRow row : tags) {
+            index.addTag(toIndexId(row.getIssueId()), row.getTagId());
+        }
+        index.optimize();
+        return index;
+    }
+
+    int issueCount() {
+        return all.getCardinality();
+    }
+
+    int tagCount() {
+        return byTag.size();
+    }
+
+    RoaringBitmap filter(IssueFilterRequest request) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap result = all.clone();
+
+            if (request.allTagIds() != null) {
+                for (Long tagId : request.allTagIds()) {
+                    result.and(byTag.getOrDefault(tagId, new RoaringBitmap()));
+                }
+            }
+            if (request.anyTagIds() != null && !request.anyTagIds().isEmpty()) {
+                result.and(union(byTag, request.anyTagIds()));
+            }
+            if (request.excludedTagIds() != null) {
+                for (Long tagId : request.excludedTagIds()) {
+                    RoaringBitmap excluded = byTag.get(tagId);
+                    if (excluded != null) {
+                        result.andNot(excluded);
+                    }
+                }
+            }
+            if (request.statuses() != null && !request.statuses().isEmpty()) {
+                result.and(union(byStatus, request.statuses()));
+            }
+            if (request.assigneeId() != null) {
+                result.and(byAssignee.getOrDefault(request.assigneeId(), new RoaringBitmap()));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void replaceIssues(Collection<Long> issueIds, List<IssueRepository.IssueIndexRow> rows,
+                       Map<Long, List<Long>> tagsByIssue) {
+        RoaringBitmap changed = new RoaringBitmap();
+        issueIds.forEach(issueId -> changed.add(toIndexId(issueId)));
+
+        lock.writeLock().lock();
+        try {
+            // убираем задачи из всех битмапов и добавляем заново по текущему состоянию (удаленных в rows нет)
+            all.andNot(changed);
+            byTag.values().forEach(bitmap -> bitmap.andNot(changed));
+            byStatus.values().forEach(bitmap -> bitmap.andNot(changed));
+            byAssignee.values().forEach(bitmap -> bitmap.andNot(changed));
+
+            for (IssueRepository.IssueIndexRow row : rows) {
+                addIssue(row);
+                for (Long tagId : tagsByIssue.getOrDefault(row.getId(), List.of())) {
+                    addTag(toIndexId(row.getId()), tagId);
+                }
+            }
+            byAssignee.values().removeIf(RoaringBitmap::isEmpty);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void removeTag(Long tagId) {
+        lock.writeLock().lock();
+        try {
+            byTag.remove(tagId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // вызывается при построении (индекс еще не опубликован) и под write lock из replaceIssues
+    private void addIssue(IssueRepository.IssueIndexRow row) {
+        int issueId = toIndexId(row.getId());
+        all.add(issueId);
+        byStatus.computeIfAbsent(row.getStatus(), status -> new RoaringBitmap()).add(issueId);
+        if (row.getAssigneeId() != null) {
+            byAssignee.computeIfAbsent(row.getAssigneeId(), assignee -> new RoaringBitmap()).add(issueId);
+        }
+    }
+
+    private void addTag(int issueId, Long tagId) {
+        byTag.computeIfAbsent(tagId, tag -> new RoaringBitmap()).add(issueId);
+    }
+
+    private void optimize() {
+        all.runOptimize();
+        byTag.values().forEach(RoaringBitmap::runOptimize);
+        byStatus.values().forEach(RoaringBitmap::runOptimize);
+        byAssignee.values().forEach(RoaringBitmap::runOptimize);
+    }
+
+    // страница id по возрастанию без материализации всего результата
+    static List<Long> page(RoaringBitmap result, int page, int size) {
+        long offset = (long) page * size;
+        if (offset >= result.getLongCardinality()) {
+            return List.of();
+        }
+
+        List<Long> issueIds = new ArrayList<>(size);
+        PeekableIntIterator iterator = result.getIntIterator();
+        iterator.advanceIfNeeded(result.select((int) offset));
+        while (iterator.hasNext() && issueIds.size() < size) {
+            issueIds.add(Integer.toUnsignedLong(iterator.next()));
+        }
+        return issueIds;
+    }
+
+    // битмапы хранят int; id задач из последовательности, переполнение сразу видно
+    static int toIndexId(Long issueId) {
+        return Math.toIntExact(issueId);
+    }
+
+    private static <K> RoaringBitmap union(Map<K, RoaringBitmap> bitmaps, Collection<K> keys) {
+        return RoaringBitmap.or(keys.stream()
+                .map(bitmaps::get)
+                .filter(Objects::nonNull)
+                .iterator());
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.issueservice.services;
+
+import com.example.issueservice.dto.models.enums.ActionType;
+import com.example.issueservice.dto.models.enums.EntityType;
+import com.example.issueservice.dto.request.IssueFilterRequest;
+import com.example.issueservice.dto.response.IssueFilterResponse;
+import com.example.issueservice.repositories.IssueRepository;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+
+@Service
+@Slf4j
+public class TagIndexService implements IssueChangeListener {
+
+    // in-memory индекс задач проекта на roaring bitmap: тег -> задачи, статус -> задачи, исполнитель -> задачи
+    // фильтр AND/OR/NOT по тегам вместе со статусами и исполнителем считается операциями над битмапами
+    // без загрузки задач и issue_tags; результат - отсортированные id задач для постраничной выдачи
+    //
+    // индекс проекта строится при первом запросе и дальше обновляется после коммита изменений этого инстанса
+    // (IssueChangeNotifier); изменения с других инстансов подхватываются при перестроении по max-age
+
+    private final IssueRepository issueRepository;
+    private final AuthService authService;
+    private final Cache<Long, ProjectTagIndex> indexes;
+    private final Timer filterTimer;
+
+    public TagIndexService(IssueRepository issueRepository,
+                           AuthService authService,
+                           MeterRegistry meterRegistry,
+                           @Value("${issues.tag-index.max-projects:1000}") long maxProjects,
+                           @Value("${issues.tag-index.max-age-seconds:60}") long maxAgeSeconds) {
+        this.issueRepository = issueRepository;
+        this.authService = authService;
+        this.indexes = CacheBuilder.newBuilder()
+                .maximumSize(maxProjects)
+                .expireAfterWrite(Duration.ofSeconds(maxAgeSeconds))
+                .build();
+        this.filterTimer = Timer.builder("issues.tag-index.filter")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    @Transactional(readOnly = true)
+    public IssueFilterResponse filterIssues(Long userId, IssueFilterRequest request) {
+        authService.hasPermission(userId, request.projectId(), EntityType.ISSUE, ActionType.VIEW);
+
+        ProjectTagIndex index = getIndex(request.projectId());
+        RoaringBitmap result = filterTimer.record(() -> index.filter(request));
+
+        int page = request.pageOrDefault();
+        int size = request.sizeOrDefault();
+        return new IssueFilterResponse(result.getLongCardinality(), page, size, ProjectTagIndex.page(result, page, size));
+    }
+
+    // индекс строится не дольше одного раза на проект: параллельные запросы ждут того же загрузчика
+    private ProjectTagIndex getIndex(Long projectId) {
+        try {
+            return indexes.get(projectId, () -> loadIndex(projectId));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to build tag index for project " + projectId, e.getCause());
+        }
+    }
+
+    private ProjectTagIndex loadIndex(Long projectId) {
+        ProjectTagIndex index = ProjectTagIndex.of(
+                issueRepository.findIndexRowsByProjectId(projectId),
+                issueRepository.findTagRowsByProjectId(projectId));
+
+        log.info("Built tag index for project {}: {} issues, {} tags",
+                projectId, index.issueCount(), index.tagCount());
+        return index;
+    }
+
+    @Override
+    public void issuesChanged(long projectId, Collection<Long> issueIds) {
+        ProjectTagIndex index = indexes.getIfPresent(projectId);
+        if (index == null) {
+            return;
+        }
+
+        List<IssueRepository.IssueIndexRow> rows = issueRepository.findIndexRowsByIdIn(issueIds);
+        Map<Long, List<Long>> tagsByIssue = new HashMap<>();
+        for (IssueRepository.IssueTagRow row : issueRepository.findTagRowsByIssueIdIn(issueIds)) {
+            tagsByIssue.computeIfAbsent(row.getIssueId(), id -> new ArrayList<>()).add(row.getTagId());
+        }
+
+        index.replaceIssues(issueIds, rows, tagsByIssue);
+    }
+
+    @Override
+    public void projectInvalidated(long projectId) {
+        indexes.invalidate(projectId);
+    }
+
+    @TransactionalEventListener
+    public void onTagDeleted(TagDeleted event) {
+        ProjectTagIndex index = indexes.getIfPresent(event.projectId());
+        if (index != null) {
+            index.removeTag(event.tagId());
+        }
+    }
+
+    // удаление тега проекта (TagService), публикуется внутри транзакции удаления
+    public record TagDeleted(long projectId, long tagId) {}
+}
@@ -9,6 +9,7 @@ import com.example.issueservice.exception.TagAlreadyExistsException;
 import com.example.issueservice.repositories.ProjectTagRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +23,7 @@ public class TagService {
 
     private final ProjectTagRepository projectTagRepository;
     private final AuthService authService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public TagResponse createProjectTag(Long userId, Long projectId, String name) {
@@ -88,6 +90,7 @@ public class TagService {
         log.info("Deleting project tag with id: {}", tagId);
 
         projectTagRepository.deleteById(tagId);
+        eventPublisher.publishEvent(new TagIndexService.TagDeleted(tag.getProjectId(), tagId));
         log.info("Successfully deleted project tag {}", tagId);
     }
 }
\ No newline at end of file
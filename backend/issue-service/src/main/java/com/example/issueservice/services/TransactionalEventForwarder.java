@@ -12,59 +12,72 @@ import org.springframework.transaction.event.TransactionalEventListener;
 @Slf4j
 public class TransactionalEventForwarder {
 
+    // события пишутся в outbox в той же транзакции, что и изменения (BEFORE_COMMIT),
+    // поэтому не теряются при падении процесса и не ждут брокер в потоке запроса
+
     private final EventProducerService producer;
 
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
     public void handleAttachmentCreated(AttachmentCreatedEvent event) {
         producer.sendAttachmentCreatedEvent(event);
     }
 
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
     public void handleAttachmentDeleted(AttachmentDeletedEvent event) {
         producer.sendAttachmentDeletedEvent(event);
     }
 
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
     public void handleIssueCreated(IssueCreatedEvent event) {
         producer.sendIssueCreatedEvent(event);
     }
 
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void handleIssuesImported(IssuesImportedEvent event) {
+        producer.sendIssuesImportedEvent(event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
     public void handleIssueDeleted(IssueDeletedEvent event) {
         producer.sendIssueDeletedEvent(event);
     }
 
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
     public void handleIssueUpdated(IssueUpdatedEvent event) {
         producer.sendIssueUpdatedEvent(event);
     }
 
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void handleIssueBulkUpdated(IssueBulkUpdatedEvent event) {
+        producer.sendIssueBulkUpdatedEvent(event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
     public void handleIssueStatusChanged(IssueStatusChangedEvent event) {
         producer.sendIssueStatusChangedEvent(event);
     }
 
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
     public void handleIssueAssigneeAdded(IssueAssigneeAddedEvent event) {
         producer.sendIssueAssigneeAddedEvent(event);
     }
 
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
     public void handleIssueAssigneeRemoved(IssueAssigneeRemovedEvent event) {
         producer.sendIssueAssigneeRemovedEvent(event);
     }
 
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
     public void handleIssueCommentCreated(IssueCommentCreatedEvent event) {
         producer.sendIssueCommentCreatedEvent(event);
     }
 
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
     public void handleIssueCommentDeleted(IssueCommentDeletedEvent event) {
         producer.sendIssueCommentDeletedEvent(event);
     }
 
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
     public void handleIssueCommentUpdated(IssueCommentUpdatedEvent event) {
         producer.sendIssueCommentUpdatedEvent(event);
     }
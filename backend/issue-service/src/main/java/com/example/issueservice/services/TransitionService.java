@@ -33,22 +33,9 @@ public class TransitionService {
         log.info("Owner transitioning issue {} from {} to {} by user {}",
                 issueId, issue.getStatus().name(), targetStatus.name(), userId);
 
-        if (issue.getAssigneeId() != null &&
-                (targetStatus == IssueStatus.SELECTED_FOR_DEVELOPMENT || targetStatus == IssueStatus.TO_DO)) {
-            throw new InvalidStatusTransitionException(
-                    "Cannot transition issue with assignee to " + targetStatus.name() + ". Issue is already in progress.");
-        }
-
         IssueStatus oldStatus = issue.getStatus();
 
-        issue.setStatus(targetStatus);
-        boolean isCompletedStatus = Set.of(IssueStatus.STAGING, IssueStatus.DONE).contains(targetStatus);
-
-        if (isCompletedStatus && issue.getCompletedAt() == null) {
-            issue.setCompletedAt(LocalDateTime.now());
-        } else if (!isCompletedStatus) {
-            issue.setCompletedAt(null);
-        }
+        applyOwnerTransition(issue, targetStatus);
 
         issueRepository.save(issue);
 
@@ -97,6 +84,24 @@ public class TransitionService {
         log.info("Successfully transitioned issue {} to status {}", issueId, targetStatus.name());
     }
 
+    // переход владельцем проекта без проверки роли, используется и в массовых операциях
+    public void applyOwnerTransition(Issue issue, IssueStatus targetStatus) {
+        if (issue.getAssigneeId() != null &&
+                (targetStatus == IssueStatus.SELECTED_FOR_DEVELOPMENT || targetStatus == IssueStatus.TO_DO)) {
+            throw new InvalidStatusTransitionException(
+                    "Cannot transition issue with assignee to " + targetStatus.name() + ". Issue is already in progress.");
+        }
+
+        issue.setStatus(targetStatus);
+        boolean isCompletedStatus = Set.of(IssueStatus.STAGING, IssueStatus.DONE).contains(targetStatus);
+
+        if (isCompletedStatus && issue.getCompletedAt() == null) {
+            issue.setCompletedAt(LocalDateTime.now());
+        } else if (!isCompletedStatus) {
+            issue.setCompletedAt(null);
+        }
+    }
+
     private void validateTransition(IssueStatus currentStatus, IssueStatus targetStatus, AssignmentType type) {
         if (currentStatus == targetStatus) {
             throw new InvalidStatusTransitionException("Cannot transition to the same status: " + currentStatus.name());
@@ -0,0 +1,56 @@
+-- Базовая схема issue-service в том виде, в котором ее создавал ddl-auto=update.
+-- На существующих базах не выполняется (baseline-on-migrate с версией 1), на новых создает таблицы с нуля.
+
+CREATE SCHEMA IF NOT EXISTS issue_service_schema;
+
+CREATE TABLE IF NOT EXISTS issue_service_schema.issues (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    project_id BIGINT NOT NULL,
+    creator_id BIGINT NOT NULL,
+    parent_issue_id BIGINT REFERENCES issue_service_schema.issues (id) ON DELETE CASCADE,
+    level INTEGER NOT NULL,
+    assignee_id BIGINT,
+    code_reviewer_id BIGINT,
+    qa_engineer_id BIGINT,
+    title VARCHAR(255) NOT NULL,
+    description TEXT,
+    status VARCHAR(255) NOT NULL,
+    type VARCHAR(255) NOT NULL,
+    priority VARCHAR(255) NOT NULL,
+    deadline TIMESTAMP(6),
+    completed_at TIMESTAMP(6),
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS issue_service_schema.project_tags (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    project_id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS issue_service_schema.issue_tags (
+    issue_id BIGINT NOT NULL REFERENCES issue_service_schema.issues (id),
+    tag_id BIGINT NOT NULL REFERENCES issue_service_schema.project_tags (id) ON DELETE CASCADE,
+    PRIMARY KEY (issue_id, tag_id)
+);
+
+CREATE TABLE IF NOT EXISTS issue_service_schema.issue_comments (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    issue_id BIGINT NOT NULL REFERENCES issue_service_schema.issues (id),
+    user_id BIGINT NOT NULL,
+    text TEXT NOT NULL,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS issue_service_schema.attachments (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    issue_id BIGINT NOT NULL REFERENCES issue_service_schema.issues (id),
+    file_name VARCHAR(255) NOT NULL,
+    file_data OID NOT NULL,
+    file_size BIGINT NOT NULL,
+    content_type VARCHAR(255) NOT NULL,
+    created_by BIGINT NOT NULL,
+    created_at TIMESTAMP(6)
+);
@@ -0,0 +1,30 @@
+-- Closure table иерархии задач (см. IssueClosure).
+-- Заполняется для задач, созданных до появления таблицы.
+-- Заполнение выполняется только если таблица пустая, а задачи уже есть.
+
+CREATE TABLE IF NOT EXISTS issue_service_schema.issue_closure (
+    ancestor_id BIGINT NOT NULL,
+    descendant_id BIGINT NOT NULL,
+    depth INTEGER NOT NULL,
+    PRIMARY KEY (ancestor_id, descendant_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_issue_closure_descendant ON issue_service_schema.issue_closure (descendant_id);
+
+DO '
+BEGIN
+    IF to_regclass(''issue_service_schema.issues'') IS NOT NULL
+            AND NOT EXISTS (SELECT 1 FROM issue_service_schema.issue_closure) THEN
+        INSERT INTO issue_service_schema.issue_closure (ancestor_id, descendant_id, depth)
+        WITH RECURSIVE paths AS (
+            SELECT id AS ancestor_id, id AS descendant_id, 0 AS depth
+            FROM issue_service_schema.issues
+            UNION ALL
+            SELECT p.ancestor_id, i.id, p.depth + 1
+            FROM paths p
+            JOIN issue_service_schema.issues i ON i.parent_issue_id = p.descendant_id
+        )
+        SELECT ancestor_id, descendant_id, depth FROM paths;
+    END IF;
+END;
+';
@@ -0,0 +1,32 @@
+-- Индексы под запросы репозиториев. CONCURRENTLY не блокирует запись в таблицы,
+-- поэтому миграция выполняется вне транзакции (V4__workload_indexes.sql.conf).
+-- Если построение прервалось, индекс остается INVALID: его нужно удалить и перезапустить сервис,
+-- SchemaIndexVerifier не даст стартовать с невалидным индексом.
+
+-- findByProjectId / findAllByProjectId
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_issues_project_id
+    ON issue_service_schema.issues (project_id);
+
+-- дочерние задачи и ON DELETE CASCADE по parent_issue_id; у эпиков и задач без родителя NULL
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_issues_parent_issue_id
+    ON issue_service_schema.issues (parent_issue_id) WHERE parent_issue_id IS NOT NULL;
+
+-- задачи исполнителя; неназначенные задачи в индекс не попадают
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_issues_assignee_id
+    ON issue_service_schema.issues (assignee_id) WHERE assignee_id IS NOT NULL;
+
+-- findByIssueIdOrderByCreatedAtAsc: фильтр и сортировка одним индексом
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_issue_comments_issue_created
+    ON issue_service_schema.issue_comments (issue_id, created_at);
+
+-- подгрузка вложений задачи (@BatchSize) и удаление поддерева
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_attachments_issue_id
+    ON issue_service_schema.attachments (issue_id);
+
+-- первичный ключ issue_tags начинается с issue_id, для поиска по тегу нужен отдельный индекс
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_issue_tags_tag_id
+    ON issue_service_schema.issue_tags (tag_id);
+
+-- findByProjectId / existsByProjectIdAndName
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_project_tags_project_name
+    ON issue_service_schema.project_tags (project_id, name);
@@ -0,0 +1,17 @@
+-- Полнотекстовый поиск по задачам и комментариям (IssueSearchService).
+-- tsvector хранится в генерируемых колонках: Postgres пересчитывает его при каждом INSERT/UPDATE,
+-- поэтому приложению не нужно поддерживать индекс, а Hibernate эти колонки не маппит.
+-- Конфигурация russian: кириллица стеммится русским словарем, латиница - английским.
+-- Заголовок весит больше описания (A > B), это учитывается в ts_rank_cd.
+-- ADD COLUMN ... STORED переписывает таблицу под эксклюзивной блокировкой - выкатывать в окно обслуживания.
+
+ALTER TABLE issue_service_schema.issues
+    ADD COLUMN IF NOT EXISTS search_vector tsvector
+        GENERATED ALWAYS AS (
+            setweight(to_tsvector('russian', coalesce(title, '')), 'A')
+                || setweight(to_tsvector('russian', coalesce(description, '')), 'B')
+        ) STORED;
+
+ALTER TABLE issue_service_schema.issue_comments
+    ADD COLUMN IF NOT EXISTS search_vector tsvector
+        GENERATED ALWAYS AS (to_tsvector('russian', coalesce(text, ''))) STORED;
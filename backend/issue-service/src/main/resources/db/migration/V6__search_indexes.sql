@@ -0,0 +1,8 @@
+-- GIN-индексы для поиска по search_vector (V5). CONCURRENTLY, поэтому вне транзакции
+-- (V6__search_indexes.sql.conf); прерванное построение оставляет INVALID индекс, см. V4.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_issues_search_vector
+    ON issue_service_schema.issues USING GIN (search_vector);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_issue_comments_search_vector
+    ON issue_service_schema.issue_comments USING GIN (search_vector);
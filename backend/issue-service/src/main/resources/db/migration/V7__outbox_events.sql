@@ -0,0 +1,15 @@
+-- Таблица transactional outbox для событий активности.
+-- Отдельной миграцией: базы, переведенные на Flyway через baseline с версией 1, V1 не выполняют.
+-- Идемпотентна: на базах, где таблицу уже создал ddl-auto=update, ничего не меняет.
+
+CREATE TABLE IF NOT EXISTS issue_service_schema.outbox_events (
+    id BIGINT NOT NULL PRIMARY KEY,
+    message_id VARCHAR(255) NOT NULL,
+    event_type VARCHAR(255) NOT NULL,
+    routing_key VARCHAR(255) NOT NULL,
+    content_type VARCHAR(255),
+    payload BYTEA NOT NULL,
+    created_at TIMESTAMP(6)
+);
+
+CREATE SEQUENCE IF NOT EXISTS issue_service_schema.outbox_events_id_seq START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,118 @@
+package com.example.issueservice.services;
+
+import com.example.issueservice.dto.models.*;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Postgres в Testcontainers для JMH-бенчмарков с базой: схема из миграций Flyway (как spring.flyway.*),
+// SessionFactory с настройками Hibernate из application.properties, без Spring-контекста и кеша второго уровня
+final class BenchmarkDatabase implements AutoCloseable {
+
+    static final String SCHEMA = "issue_service_schema";
+
+    private final PostgreSQLContainer<?> postgres;
+    private final boolean reusable;
+
+    private BenchmarkDatabase(PostgreSQLContainer<?> postgres, boolean reusable) {
+        this.postgres = postgres;
+        this.reusable = reusable;
+    }
+
+    static BenchmarkDatabase start() {
+        PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+                .withUrlParam("reWriteBatchedInserts", "true");
+        postgres.start();
+        return new BenchmarkDatabase(postgres, false);
+    }
+
+    // база под большой набор данных, который дорого наполнять в каждом форке JMH:
+    // при testcontainers.reuse.enable=true в ~/.testcontainers.properties контейнер переживает форки и прогоны
+    // (сбросить - docker rm -f), без этой настройки Testcontainers удаляет его при выходе из JVM как обычно
+    static BenchmarkDatabase startReusable() {
+        PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+                .withUrlParam("reWriteBatchedInserts", "true")
+                // по умолчанию у контейнера 64 МБ /dev/shm, параллельным воркерам запросов не хватает
+                .withSharedMemorySize(1024L * 1024 * 1024)
+                .withCommand("postgres", "-c", "fsync=off",
+                        "-c", "shared_buffers=1GB", "-c", "maintenance_work_mem=512MB")
+                .withReuse(true);
+        postgres.start();
+        return new BenchmarkDatabase(postgres, true);
+    }
+
+    // миграции до версии target включительно, null - все
+    void migrate(String target) {
+        FluentConfiguration flyway = Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .schemas(SCHEMA)
+                .defaultSchema(SCHEMA)
+                .locations("classpath:db/migration");
+        if (target != null) {
+            flyway.target(target);
+        }
+        flyway.load().migrate();
+    }
+
+    void execute(String sql) {
+        try (Connection connection = DriverManager.getConnection(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to execute: " + sql, e);
+        }
+    }
+
+    long queryForLong(String sql) {
+        try (Connection connection = DriverManager.getConnection(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to execute: " + sql, e);
+        }
+    }
+
+    // mappingResources - orm.xml, переопределяющие аннотации сущностей
+    SessionFactory sessionFactory(String... mappingResources) {
+        Configuration configuration = new Configuration()
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, postgres.getJdbcUrl())
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, postgres.getUsername())
+                .setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, postgres.getPassword())
+                .setProperty(AvailableSettings.DEFAULT_SCHEMA, SCHEMA)
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "50")
+                .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+                .setProperty(AvailableSettings.ORDER_UPDATES, "true")
+                .setProperty(AvailableSettings.USE_SECOND_LEVEL_CACHE, "false")
+                .setProperty(AvailableSettings.GENERATE_STATISTICS, "true")
+                .addAnnotatedClass(Issue.class)
+                .addAnnotatedClass(IssueClosure.class)
+                .addAnnotatedClass(IssueComment.class)
+                .addAnnotatedClass(Attachment.class)
+                .addAnnotatedClass(ProjectTag.class)
+                .addAnnotatedClass(OutboxEvent.class);
+        for (String resource : mappingResources) {
+            configuration.addResource(resource);
+        }
+        return configuration.buildSessionFactory();
+    }
+
+    @Override
+    public void close() {
+        if (!reusable) {
+            postgres.stop();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.issueservice.services;
+
+import com.example.issueservice.dto.models.OutboxEvent;
+import com.example.issueservice.dto.rabbit.IssueCreatedEvent;
+import com.example.issueservice.dto.rabbit.IssueStatusChangedBatchEvent;
+import com.example.issueservice.dto.rabbit.IssueStatusChangedEvent;
+import com.example.issueservice.dto.rabbit.IssueUpdatedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventCoalescerTests {
+
+    // как ObjectMapper из Jackson2ObjectMapperBuilder: EventCodec копирует его с CBORFactory, JsonMapper этого не позволяет
+    private static final ObjectMapper MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void disabledCoalescingReturnsBatchAsIs() {
+        EventCoalescer coalescer = coalescer(false, false);
+        List<OutboxEvent> batch = List.of(updated(1, 10, EventCodec.JSON), updated(2, 10, EventCodec.JSON));
+
+        assertSame(batch, coalescer.coalesce(batch));
+    }
+
+    @Test
+    void keepsOnlyLastUpdatePerIssueInItsPosition() {
+        EventCoalescer coalescer = coalescer(true, false);
+        List<OutboxEvent> batch = List.of(
+                updated(1, 10, EventCodec.JSON),
+                updated(2, 20, EventCodec.JSON),
+                other(3),
+                updated(4, 10, EventCodec.CBOR),
+                updated(5, 10, EventCodec.JSON));
+
+        assertEquals(List.of("m2", "m3", "m5"), messageIds(coalescer.coalesce(batch)));
+        assertEquals(2.0, meterRegistry.counter("events.coalesced").count(), 0.0);
+    }
+
+    @Test
+    void leavesStatusChangesAloneWhenOnlyUpdatesAreCoalesced() {
+        EventCoalescer coalescer = coalescer(true, false);
+        List<OutboxEvent> batch = List.of(
+                statusChanged(1, 7, 10),
+                statusChanged(2, 7, 11));
+
+        assertSame(batch, coalescer.coalesce(batch));
+    }
+
+    @Test
+    void batchesStatusChangesPerProjectAtLastPosition() throws Exception {
+        EventCoalescer coalescer = coalescer(false, true);
+        List<OutboxEvent> batch = List.of(
+                statusChanged(1, 7, 10),
+                other(2),
+                statusChanged(3, 8, 30),
+                statusChanged(4, 7, 11),
+                statusChanged(5, 7, 12));
+
+        List<OutboxEvent> result = coalescer.coalesce(batch);
+
+        assertEquals(List.of("m2", "m3", "m5"), messageIds(result));
+
+        OutboxEvent envelope = result.get(2);
+        assertEquals(IssueStatusChangedBatchEvent.class.getSimpleName(), envelope.getEventType());
+        assertEquals("issue.7.status.changed.batch", envelope.getRoutingKey());
+        assertEquals(5L, envelope.getId().longValue());
+
+        IssueStatusChangedBatchEvent decoded =
+                codec().decode(envelope.getPayload(), envelope.getContentType(), IssueStatusChangedBatchEvent.class);
+        assertEquals(7L, decoded.projectId());
+        assertEquals(List.of(10L, 11L, 12L), decoded.changes().stream().map(IssueStatusChangedEvent::issueId).toList());
+    }
+
+    @Test
+    void singleStatusChangeIsNotWrapped() {
+        EventCoalescer coalescer = coalescer(true, true);
+        List<OutboxEvent> batch = List.of(statusChanged(1, 7, 10), statusChanged(2, 8, 20));
+
+        assertSame(batch, coalescer.coalesce(batch));
+    }
+
+    @Test
+    void unreadablePayloadIsSentUnchanged() {
+        EventCoalescer coalescer = coalescer(true, false);
+        OutboxEvent broken = outbox(1, IssueUpdatedEvent.class, "not json".getBytes(StandardCharsets.UTF_8), EventCodec.JSON);
+        List<OutboxEvent> batch = List.of(broken, updated(2, 10, EventCodec.JSON), updated(3, 10, EventCodec.JSON));
+
+        assertEquals(List.of("m1", "m3"), messageIds(coalescer.coalesce(batch)));
+    }
+
+    private EventCoalescer coalescer(boolean updates, boolean statusBatch) {
+        return new EventCoalescer(codec(), meterRegistry, updates, statusBatch);
+    }
+
+    private static EventCodec codec() {
+        return new EventCodec(MAPPER, List.of());
+    }
+
+    private static OutboxEvent updated(long id, long issueId, String contentType) {
+        return outbox(id, IssueUpdatedEvent.class, encode(new IssueUpdatedEvent(7, issueId, 1, NOW), contentType), contentType);
+    }
+
+    private static OutboxEvent statusChanged(long id, long projectId, long issueId) {
+        IssueStatusChangedEvent event = new IssueStatusChangedEvent(projectId, issueId, 1, "TO_DO", "IN_PROGRESS", NOW);
+        return outbox(id, IssueStatusChangedEvent.class, encode(event, EventCodec.JSON), EventCodec.JSON);
+    }
+
+    private static OutboxEvent other(long id) {
+        return outbox(id, IssueCreatedEvent.class, "{}".getBytes(StandardCharsets.UTF_8), EventCodec.JSON);
+    }
+
+    private static OutboxEvent outbox(long id, Class<?> type, byte[] payload, String contentType) {
+        return OutboxEvent.builder()
+                .id(id)
+                .messageId("m" + id)
+                .eventType(type.getSimpleName())
+                .routingKey("issue.7.test")
+                .contentType(contentType)
+                .payload(payload)
+                .build();
+    }
+
+    private static byte[] encode(Object event, String contentType) {
+        try {
+            return codec().encode(event, contentType);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<String> messageIds(List<OutboxEvent> events) {
+        return events.stream().map(OutboxEvent::getMessageId).toList();
+    }
+}
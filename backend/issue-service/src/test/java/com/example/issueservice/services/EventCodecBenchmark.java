@@ -0,0 +1,72 @@
+package com.example.issueservice.services;
+
+import com.example.issueservice.dto.rabbit.IssueCreatedEvent;
+import com.example.issueservice.dto.rabbit.IssueStatusChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// стоимость кодирования самых частых событий activity.exchange в JSON и CBOR
+// размер payload печатается один раз при старте каждого варианта
+// запуск: mvn -Pbenchmark test-compile exec:exec -Djmh.include=EventCodec
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventCodecBenchmark {
+
+    @Param({EventCodec.JSON, EventCodec.CBOR})
+    public String contentType;
+
+    private EventCodec codec;
+    private IssueCreatedEvent created;
+    private IssueStatusChangedEvent statusChanged;
+    private byte[] createdPayload;
+    private byte[] statusChangedPayload;
+
+    @Setup
+    public void setUp() throws IOException {
+        // настройки как у ObjectMapper из Spring Boot: даты строками ISO-8601
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        codec = new EventCodec(objectMapper, List.of());
+
+        Instant now = Instant.parse("2025-01-01T12:00:00.123456Z");
+        created = new IssueCreatedEvent(1_042, 184_377, 9_321, now);
+        statusChanged = new IssueStatusChangedEvent(1_042, 184_377, 9_321, "IN_PROGRESS", "CODE_REVIEW", now);
+
+        createdPayload = codec.encode(created, contentType);
+        statusChangedPayload = codec.encode(statusChanged, contentType);
+        System.out.printf("%n%s payload: IssueCreatedEvent=%d B, IssueStatusChangedEvent=%d B%n",
+                contentType, createdPayload.length, statusChangedPayload.length);
+    }
+
+    @Benchmark
+    public byte[] encodeCreated() throws IOException {
+        return codec.encode(created, contentType);
+    }
+
+    @Benchmark
+    public byte[] encodeStatusChanged() throws IOException {
+        return codec.encode(statusChanged, contentType);
+    }
+
+    @Benchmark
+    public IssueCreatedEvent decodeCreated() throws IOException {
+        return codec.decode(createdPayload, contentType, IssueCreatedEvent.class);
+    }
+
+    @Benchmark
+    public IssueStatusChangedEvent decodeStatusChanged() throws IOException {
+        return codec.decode(statusChangedPayload, contentType, IssueStatusChangedEvent.class);
+    }
+}
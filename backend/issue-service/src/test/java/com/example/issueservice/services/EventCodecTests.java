@@ -0,0 +1,111 @@
+package com.example.issueservice.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventCodecTests {
+
+    @Test
+    void jsonByDefault() {
+        EventCodec codec = codec();
+
+        assertEquals(EventCodec.JSON, codec.contentTypeFor("issue.1.created"));
+    }
+
+    @Test
+    void blankPatternsAreIgnored() {
+        EventCodec codec = codec("", " ");
+
+        assertEquals(EventCodec.JSON, codec.contentTypeFor("issue.1.created"));
+    }
+
+    @Test
+    void starMatchesExactlyOneWord() {
+        EventCodec codec = codec("issue.*.updated");
+
+        assertEquals(EventCodec.CBOR, codec.contentTypeFor("issue.42.updated"));
+        assertEquals(EventCodec.JSON, codec.contentTypeFor("issue.updated"));
+        assertEquals(EventCodec.JSON, codec.contentTypeFor("issue.1.2.updated"));
+        assertEquals(EventCodec.JSON, codec.contentTypeFor("issue.42.updated.batch"));
+    }
+
+    @Test
+    void trailingHashMatchesZeroOrMoreWords() {
+        EventCodec codec = codec("issue.#");
+
+        assertEquals(EventCodec.CBOR, codec.contentTypeFor("issue"));
+        assertEquals(EventCodec.CBOR, codec.contentTypeFor("issue.42"));
+        assertEquals(EventCodec.CBOR, codec.contentTypeFor("issue.42.status.changed.batch"));
+        assertEquals(EventCodec.JSON, codec.contentTypeFor("issues.42"));
+        assertEquals(EventCodec.JSON, codec.contentTypeFor("board.issue.42"));
+    }
+
+    @Test
+    void leadingHashMatchesZeroOrMoreWords() {
+        EventCodec codec = codec("#.updated");
+
+        assertEquals(EventCodec.CBOR, codec.contentTypeFor("updated"));
+        assertEquals(EventCodec.CBOR, codec.contentTypeFor("issue.42.updated"));
+        assertEquals(EventCodec.JSON, codec.contentTypeFor("issue.42.updated2"));
+        assertEquals(EventCodec.JSON, codec.contentTypeFor("issue.42notupdated"));
+    }
+
+    @Test
+    void innerHashMatchesZeroOrMoreWords() {
+        EventCodec codec = codec("issue.#.changed");
+
+        assertEquals(EventCodec.CBOR, codec.contentTypeFor("issue.changed"));
+        assertEquals(EventCodec.CBOR, codec.contentTypeFor("issue.42.status.changed"));
+        assertEquals(EventCodec.JSON, codec.contentTypeFor("issue.42.status.changed.batch"));
+    }
+
+    @Test
+    void lonelyHashMatchesEverything() {
+        EventCodec codec = codec("#");
+
+        assertEquals(EventCodec.CBOR, codec.contentTypeFor("issue.42.created"));
+        assertEquals(EventCodec.CBOR, codec.contentTypeFor("comment"));
+    }
+
+    @Test
+    void wordsAreMatchedLiterally() {
+        EventCodec codec = codec("issue.1+.created");
+
+        assertEquals(EventCodec.CBOR, codec.contentTypeFor("issue.1+.created"));
+        assertEquals(EventCodec.JSON, codec.contentTypeFor("issue.11.created"));
+    }
+
+    @Test
+    void anyPatternCanMatch() {
+        EventCodec codec = codec("comment.#", " issue.*.updated ");
+
+        assertEquals(EventCodec.CBOR, codec.contentTypeFor("comment.7.created"));
+        assertEquals(EventCodec.CBOR, codec.contentTypeFor("issue.7.updated"));
+        assertEquals(EventCodec.JSON, codec.contentTypeFor("issue.7.created"));
+    }
+
+    @Test
+    void roundTripsInBothFormats() throws Exception {
+        EventCodec codec = codec();
+        Map<String, Object> event = Map.of("projectId", 7, "title", "Задача");
+
+        byte[] json = codec.encode(event, EventCodec.JSON);
+        byte[] cbor = codec.encode(event, EventCodec.CBOR);
+
+        assertEquals('{', json[0]);
+        assertTrue(cbor.length < json.length);
+        assertEquals(event, codec.decode(json, EventCodec.JSON, Map.class));
+        assertEquals(event, codec.decode(cbor, EventCodec.CBOR, Map.class));
+        // строки outbox без content_type записаны в JSON
+        assertEquals(event, codec.decode(json, null, Map.class));
+    }
+
+    private static EventCodec codec(String... cborRoutingKeys) {
+        return new EventCodec(new ObjectMapper(), List.of(cborRoutingKeys));
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.issueservice.services;
+
+import com.example.issueservice.dto.models.Issue;
+import com.example.issueservice.dto.models.IssueComment;
+import com.example.issueservice.dto.models.enums.IssueStatus;
+import com.example.issueservice.dto.models.enums.IssueType;
+import com.example.issueservice.dto.models.enums.Priority;
+import com.example.issueservice.repositories.IssueCommentRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// пачка из 100 комментариев одной задачи через IssueCommentRepository.saveAll на Postgres в Testcontainers
+// identity - id выдает база (IDENTITY из benchmark/identity-orm.xml): INSERT на каждый комментарий, без пачек;
+// pooled - текущий @SequenceGenerator(allocationSize = 20): nextval раз на 20 id, INSERT пачками по batch_size
+// после прогона печатается число JDBC-запросов на одну пачку (статистика Hibernate)
+// нужен Docker; запуск: mvn -Pbenchmark test-compile exec:exec -Djmh.include=IssueCommentInsert
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IssueCommentInsertBenchmark {
+
+    private static final int COMMENTS = 100;
+
+    @Param({"identity", "pooled"})
+    public String idMapping;
+
+    private BenchmarkDatabase database;
+    private SessionFactory sessionFactory;
+    private EntityManager entityManager;
+    private IssueCommentRepository commentRepository;
+    private Long issueId;
+    private long batches;
+
+    @Setup
+    public void setUp() {
+        database = BenchmarkDatabase.start();
+        database.migrate(null);
+        // в V1 id issue_comments уже GENERATED BY DEFAULT AS IDENTITY, схема подходит обоим маппингам
+        sessionFactory = idMapping.equals("identity")
+                ? database.sessionFactory("benchmark/identity-orm.xml")
+                : database.sessionFactory();
+        entityManager = sessionFactory.createEntityManager();
+        commentRepository = new JpaRepositoryFactory(entityManager).getRepository(IssueCommentRepository.class);
+
+        entityManager.getTransaction().begin();
+        Issue issue = Issue.builder()
+                .projectId(1L)
+                .creatorId(1L)
+                .level(0)
+                .title("benchmark")
+                .status(IssueStatus.TO_DO)
+                .type(IssueType.TASK)
+                .priority(Priority.MEDIUM)
+                .build();
+        entityManager.persist(issue);
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+        issueId = issue.getId();
+
+        sessionFactory.getStatistics().clear();
+    }
+
+    @TearDown
+    public void tearDown() {
+        Statistics statistics = sessionFactory.getStatistics();
+        System.out.printf("%n%s: %.1f JDBC statements per %d comments (%d batches)%n",
+                idMapping,
+                (double) statistics.getPrepareStatementCount() / batches,
+                COMMENTS,
+                batches);
+
+        entityManager.close();
+        sessionFactory.close();
+        database.close();
+    }
+
+    @Benchmark
+    public List<IssueComment> saveAll() {
+        entityManager.getTransaction().begin();
+        Issue issue = entityManager.getReference(Issue.class, issueId);
+        List<IssueComment> comments = new ArrayList<>(COMMENTS);
+        for (int i = 0; i < COMMENTS; i++) {
+            comments.add(IssueComment.builder()
+                    .issue(issue)
+                    .userId(1L)
+                    .text("Комментарий " + i)
+                    .build());
+        }
+        List<IssueComment> saved = commentRepository.saveAll(comments);
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+        batches++;
+        return saved;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.issueservice.services;
+
+import com.example.issueservice.dto.models.enums.ActionType;
+import com.example.issueservice.dto.models.enums.EntityType;
+import com.example.issueservice.dto.request.IssueSearchRequest;
+import com.example.issueservice.dto.response.IssueSearchResponse;
+import com.example.issueservice.repositories.IssueRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+// IssueSearchService.search на 1 000 000 задач (100 проектов) и 500 000 комментариев в Postgres в Testcontainers
+// корпус генерируется через generate_series из словаря ниже: первые слова встречаются чаще последних
+// наполнение идет между V4 и V5, как на проде: search_vector считается при переписывании таблицы в V5,
+// GIN-индексы V6 строятся по заполненным таблицам
+// SampleTime дает распределение времени запроса: p0.50 и p0.99 в выводе JMH
+// наполнение занимает минуты, каждая комбинация @Param - отдельный форк; чтобы не повторять его,
+// включить testcontainers.reuse.enable=true (см. BenchmarkDatabase.startReusable)
+// нужен Docker; запуск: mvn -Pbenchmark test-compile exec:exec -Djmh.include=IssueSearchService
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class IssueSearchServiceBenchmark {
+
+    private static final int ISSUES = 1_000_000;
+    private static final int COMMENTS = 500_000;
+    private static final int PROJECTS = 100;
+    private static final int PAGE_SIZE = 20;
+
+    private static final String WORDS = """
+            ARRAY['ошибка', 'задача', 'страница', 'пользователь', 'загрузка', 'отчет', 'форма', 'кнопка',
+                  'авторизации', 'поиск', 'настройки', 'уведомления', 'экспорт', 'профиль', 'платеж', 'сервер',
+                  'медленная', 'фильтр', 'импорт', 'доступ', 'интеграция', 'мобильный', 'таймаут', 'кеш']""";
+
+    // слово словаря: power(random(), 2) смещает выбор к началу массива
+    private static final String RANDOM_WORD = "w.words[1 + floor(power(random(), 2) * array_length(w.words, 1))::int]";
+
+    // частое слово, два слова, редкая фраза и исключение
+    @Param({"ошибка", "ошибка авторизации", "\"медленная загрузка\"", "экспорт -отчет"})
+    public String query;
+
+    @Param({"1", "10"})
+    public int projects;
+
+    @Param({"0", "25"})
+    public int page;
+
+    private BenchmarkDatabase database;
+    private SessionFactory sessionFactory;
+    private EntityManager entityManager;
+    private IssueSearchService searchService;
+    private IssueSearchRequest request;
+
+    @Setup
+    public void setUp() {
+        database = BenchmarkDatabase.startReusable();
+        if (database.queryForLong("SELECT count(*) FROM pg_indexes WHERE schemaname = '" + BenchmarkDatabase.SCHEMA
+                + "' AND indexname = 'idx_issues_search_vector'") == 0) {
+            seed();
+        }
+
+        sessionFactory = database.sessionFactory();
+        entityManager = sessionFactory.createEntityManager();
+        IssueRepository issueRepository = new JpaRepositoryFactory(entityManager).getRepository(IssueRepository.class);
+        // права проверяются до запроса к базе и в замер не входят
+        AuthService authService = new AuthService(null) {
+            @Override
+            public boolean canAccess(Long userId, Long projectId, EntityType entity, ActionType action) {
+                return true;
+            }
+        };
+        searchService = new IssueSearchService(issueRepository, authService, new SimpleMeterRegistry());
+
+        List<Long> projectIds = LongStream.rangeClosed(1, projects).boxed().toList();
+        request = new IssueSearchRequest(query, projectIds, page, PAGE_SIZE);
+        System.out.printf("%n'%s' in %d projects: %d matches%n", query, projects, search().total());
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManager.close();
+        sessionFactory.close();
+        database.close();
+    }
+
+    @Benchmark
+    public IssueSearchResponse search() {
+        return searchService.search(1L, request);
+    }
+
+    private void seed() {
+        database.migrate("4");
+        // setseed в той же сессии: корпус одинаковый от прогона к прогону
+        database.execute("""
+                SELECT setseed(0.42);
+                WITH w AS (SELECT %s AS words)
+                INSERT INTO issue_service_schema.issues
+                    (project_id, creator_id, level, title, description, status, type, priority, created_at, updated_at)
+                SELECT 1 + g %% %d, 1 + g %% 1000, 0,
+                       (SELECT string_agg(%s, ' ') FROM generate_series(1, 3 + g %% 4)),
+                       (SELECT string_agg(%s, ' ') FROM generate_series(1, 10 + g %% 21)),
+                       (ARRAY['TO_DO', 'IN_PROGRESS', 'CODE_REVIEW', 'QA', 'DONE'])[1 + g %% 5],
+                       (ARRAY['TASK', 'BUG', 'STORY'])[1 + g %% 3],
+                       (ARRAY['LOW', 'MEDIUM', 'HIGH'])[1 + g %% 3],
+                       now(), now()
+                FROM generate_series(1, %d) g, w
+                """.formatted(WORDS, PROJECTS, RANDOM_WORD, RANDOM_WORD, ISSUES));
+        // id задач в новой базе идут с 1; 7919 взаимно просто с числом задач, комментарии раскиданы по всем задачам
+        database.execute("""
+                SELECT setseed(0.24);
+                WITH w AS (SELECT %s AS words)
+                INSERT INTO issue_service_schema.issue_comments (issue_id, user_id, text, created_at, updated_at)
+                SELECT 1 + (g::bigint * 7919) %% %d, 1 + g %% 1000,
+                       (SELECT string_agg(%s, ' ') FROM generate_series(1, 5 + g %% 11)),
+                       now(), now()
+                FROM generate_series(1, %d) g, w
+                """.formatted(WORDS, ISSUES, RANDOM_WORD, COMMENTS));
+        database.migrate(null);
+        database.execute("VACUUM ANALYZE issue_service_schema.issues");
+        database.execute("VACUUM ANALYZE issue_service_schema.issue_comments");
+    }
+}
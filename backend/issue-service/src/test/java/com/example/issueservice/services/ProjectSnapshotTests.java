@@ -0,0 +1,264 @@
+package com.example.issueservice.services;
+
+import com.example.issueservice.dto.models.enums.IssueStatus;
+import com.example.issueservice.dto.models.enums.IssueType;
+import com.example.issueservice.dto.models.enums.Priority;
+import com.example.issueservice.dto.request.BoardQueryRequest;
+import com.example.issueservice.dto.request.BoardQueryRequest.GroupField;
+import com.example.issueservice.dto.request.BoardQueryRequest.SortField;
+import com.example.issueservice.dto.response.BoardQueryResponse;
+import com.example.issueservice.repositories.IssueRepository.IssueSnapshotRow;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectSnapshotTests {
+
+    private static final LocalDateTime JAN_15 = LocalDateTime.of(2025, 1, 15, 12, 0);
+    private static final LocalDateTime FEB_1 = LocalDateTime.of(2025, 2, 1, 0, 0);
+    private static final LocalDateTime MAR_1 = LocalDateTime.of(2025, 3, 1, 0, 0);
+
+    private final ProjectSnapshot snapshot = ProjectSnapshot.of(List.of(
+            row(1, IssueType.EPIC, IssueStatus.TO_DO, Priority.HIGH, 1, null, null, null, null, MAR_1),
+            row(2, IssueType.TASK, IssueStatus.IN_PROGRESS, Priority.LOW, 2, 100L, null, null, 1L, null),
+            row(3, IssueType.BUG, IssueStatus.TO_DO, Priority.CRITICAL, 2, 200L, null, null, 1L, JAN_15),
+            row(4, IssueType.SUB_TASK, IssueStatus.DONE, Priority.MEDIUM, 3, 100L, 300L, 400L, 2L, FEB_1),
+            row(5, IssueType.STORY, IssueStatus.TO_DO, Priority.LOW, 2, null, null, null, null, null)));
+
+    @Test
+    void emptyQueryReturnsAllIssuesGroupedByStatus() {
+        BoardQueryResponse response = snapshot.query(query().build());
+
+        assertEquals(5, response.total());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), response.issueIds());
+
+        Map<String, Integer> expected = new LinkedHashMap<>();
+        for (IssueStatus status : IssueStatus.values()) {
+            expected.put(status.name(), 0);
+        }
+        expected.put("TO_DO", 3);
+        expected.put("IN_PROGRESS", 1);
+        expected.put("DONE", 1);
+        assertEquals(expected, response.groups());
+        assertEquals(List.copyOf(expected.keySet()), List.copyOf(response.groups().keySet()));
+    }
+
+    @Test
+    void filtersBySingleField() {
+        assertEquals(List.of(2L, 4L), ids(query().assignee(100L)));
+        assertEquals(List.of(4L), ids(query().reviewer(300L)));
+        assertEquals(List.of(4L), ids(query().qa(400L)));
+        assertEquals(List.of(2L, 3L), ids(query().parent(1L)));
+        assertEquals(List.of(2L, 3L, 5L), ids(query().level(2)));
+        assertEquals(List.of(3L, 5L), ids(query().types(IssueType.BUG, IssueType.STORY)));
+        assertEquals(List.of(), ids(query().assignee(999L)));
+    }
+
+    @Test
+    void deadlineBeforeIsInclusiveAndSkipsIssuesWithoutDeadline() {
+        assertEquals(List.of(3L, 4L), ids(query().deadlineBefore(FEB_1)));
+        assertEquals(List.of(), ids(query().deadlineBefore(JAN_15.minusSeconds(1))));
+    }
+
+    @Test
+    void combinesClauses() {
+        assertEquals(List.of(3L, 5L), ids(query().statuses(IssueStatus.TO_DO).level(2)));
+        assertEquals(List.of(5L), ids(query()
+                .statuses(IssueStatus.TO_DO)
+                .level(2)
+                .priorities(Priority.LOW, Priority.MEDIUM)));
+    }
+
+    @Test
+    void sortsByEnumOrdinalWithIdAsTieBreaker() {
+        assertEquals(List.of(2L, 5L, 4L, 1L, 3L), ids(query().sort(SortField.PRIORITY, false)));
+        assertEquals(List.of(3L, 1L, 4L, 2L, 5L), ids(query().sort(SortField.PRIORITY, true)));
+        assertEquals(List.of(1L, 3L, 5L, 2L, 4L), ids(query().sort(SortField.STATUS, false)));
+        assertEquals(List.of(1L, 2L, 3L, 5L, 4L), ids(query().sort(SortField.LEVEL, false)));
+    }
+
+    @Test
+    void issuesWithoutDeadlineSortLastInBothDirections() {
+        assertEquals(List.of(3L, 4L, 1L, 2L, 5L), ids(query().sort(SortField.DEADLINE, false)));
+        assertEquals(List.of(1L, 4L, 3L, 2L, 5L), ids(query().sort(SortField.DEADLINE, true)));
+    }
+
+    @Test
+    void pagesAfterSorting() {
+        assertEquals(List.of(3L, 4L), ids(query().page(1, 2)));
+        assertEquals(List.of(3L, 2L), ids(query().sort(SortField.ID, true).page(1, 2)));
+        assertEquals(List.of(4L, 1L), ids(query().sort(SortField.PRIORITY, false).page(1, 2)));
+
+        BoardQueryResponse beyond = snapshot.query(query().page(3, 2).build());
+        assertEquals(List.of(), beyond.issueIds());
+        assertEquals(5, beyond.total());
+    }
+
+    @Test
+    void groupsByAssigneeWithNoneFirst() {
+        Map<String, Integer> groups = snapshot.query(query().groupBy(GroupField.ASSIGNEE).build()).groups();
+
+        assertEquals(Map.of("NONE", 2, "100", 2, "200", 1), groups);
+        assertEquals(List.of("NONE", "100", "200"), List.copyOf(groups.keySet()));
+    }
+
+    @Test
+    void groupsCountOnlyMatchingIssues() {
+        Map<String, Integer> byLevel = snapshot.query(query().statuses(IssueStatus.TO_DO).groupBy(GroupField.LEVEL).build())
+                .groups();
+        assertEquals(Map.of("1", 1, "2", 2), byLevel);
+
+        Map<String, Integer> byPriority = snapshot.query(query().groupBy(GroupField.PRIORITY).build()).groups();
+        assertEquals(0, byPriority.get("DEFERRED").intValue());
+        assertEquals(2, byPriority.get("LOW").intValue());
+        assertEquals(Priority.values().length, byPriority.size());
+    }
+
+    @Test
+    void withChangesReplacesRemovesAndInsertsRows() {
+        ProjectSnapshot next = snapshot.withChanges(List.of(2L, 3L, 6L, 7L), List.of(
+                row(2, IssueType.TASK, IssueStatus.DONE, Priority.LOW, 2, 100L, null, null, 1L, null),
+                row(6, IssueType.BUG, IssueStatus.TO_DO, Priority.HIGH, 2, 200L, null, null, null, null)));
+
+        assertEquals(5, next.size());
+        assertEquals(List.of(1L, 2L, 4L, 5L, 6L), ids(next, query()));
+        assertEquals(List.of(2L, 4L), ids(next, query().statuses(IssueStatus.DONE)));
+        assertEquals(List.of(6L), ids(next, query().assignee(200L)));
+        assertEquals(snapshot.loadedAtNanos(), next.loadedAtNanos());
+
+        // исходный снимок не меняется
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), ids(query()));
+        assertEquals(List.of(2L), ids(query().statuses(IssueStatus.IN_PROGRESS)));
+    }
+
+    @Test
+    void withChangesKeepsOrderWhenNewRowsComeFirst() {
+        ProjectSnapshot base = ProjectSnapshot.of(List.of(
+                row(10, IssueType.TASK, IssueStatus.TO_DO, Priority.LOW, 2, null, null, null, null, null)));
+
+        ProjectSnapshot next = base.withChanges(List.of(3L, 20L), List.of(
+                row(3, IssueType.TASK, IssueStatus.TO_DO, Priority.LOW, 2, null, null, null, null, null),
+                row(20, IssueType.TASK, IssueStatus.TO_DO, Priority.LOW, 2, null, null, null, null, null)));
+
+        assertEquals(List.of(3L, 10L, 20L), ids(next, query()));
+    }
+
+    @Test
+    void withChangesForUnknownDeletedIssueIsNoOp() {
+        ProjectSnapshot next = snapshot.withChanges(List.of(42L), List.of());
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), ids(next, query()));
+    }
+
+    private List<Long> ids(Query query) {
+        return ids(snapshot, query);
+    }
+
+    private static List<Long> ids(ProjectSnapshot snapshot, Query query) {
+        return snapshot.query(query.build()).issueIds();
+    }
+
+    private static Query query() {
+        return new Query();
+    }
+
+    private static IssueSnapshotRow row(long id, IssueType type, IssueStatus status, Priority priority, int level,
+                                        Long assigneeId, Long codeReviewerId, Long qaEngineerId, Long parentId,
+                                        LocalDateTime deadline) {
+        return new SnapshotRow(id, status, type, priority, assigneeId, codeReviewerId, qaEngineerId, parentId,
+                level, deadline);
+    }
+
+    private record SnapshotRow(Long getId, IssueStatus getStatus, IssueType getType, Priority getPriority,
+                               Long getAssigneeId, Long getCodeReviewerId, Long getQaEngineerId, Long getParentId,
+                               Integer getLevel, LocalDateTime getDeadline) implements IssueSnapshotRow {}
+
+    private static final class Query {
+        private List<IssueStatus> statuses;
+        private List<IssueType> types;
+        private List<Priority> priorities;
+        private Long assigneeId;
+        private Long codeReviewerId;
+        private Long qaEngineerId;
+        private Long parentId;
+        private Integer level;
+        private LocalDateTime deadlineBefore;
+        private SortField sortBy;
+        private Boolean descending;
+        private GroupField groupBy;
+        private Integer page;
+        private Integer size;
+
+        Query statuses(IssueStatus... values) {
+            statuses = List.of(values);
+            return this;
+        }
+
+        Query types(IssueType... values) {
+            types = List.of(values);
+            return this;
+        }
+
+        Query priorities(Priority... values) {
+            priorities = List.of(values);
+            return this;
+        }
+
+        Query assignee(Long value) {
+            assigneeId = value;
+            return this;
+        }
+
+        Query reviewer(Long value) {
+            codeReviewerId = value;
+            return this;
+        }
+
+        Query qa(Long value) {
+            qaEngineerId = value;
+            return this;
+        }
+
+        Query parent(Long value) {
+            parentId = value;
+            return this;
+        }
+
+        Query level(int value) {
+            level = value;
+            return this;
+        }
+
+        Query deadlineBefore(LocalDateTime value) {
+            deadlineBefore = value;
+            return this;
+        }
+
+        Query sort(SortField field, boolean desc) {
+            sortBy = field;
+            descending = desc;
+            return this;
+        }
+
+        Query groupBy(GroupField field) {
+            groupBy = field;
+            return this;
+        }
+
+        Query page(int number, int pageSize) {
+            page = number;
+            size = pageSize;
+            return this;
+        }
+
+        BoardQueryRequest build() {
+            return new BoardQueryRequest(1L, statuses, types, priorities, assigneeId, codeReviewerId, qaEngineerId,
+                    parentId, level, deadlineBefore, sortBy, descending, groupBy, page, size);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.issueservice.services;
+
+import com.example.issueservice.dto.models.enums.IssueStatus;
+import com.example.issueservice.dto.request.IssueFilterRequest;
+import com.example.issueservice.repositories.IssueRepository.IssueIndexRow;
+import com.example.issueservice.repositories.IssueRepository.IssueTagRow;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectTagIndexTests {
+
+    private static final long BUG = 1;
+    private static final long UI = 2;
+    private static final long BACKEND = 3;
+    private static final long LEGACY = 4;
+
+    // 10: BUG UI          TO_DO        assignee 100
+    // 11: BUG BACKEND     IN_PROGRESS  assignee 100
+    // 12: UI              TO_DO        assignee 200
+    // 13: BACKEND LEGACY  DONE         без исполнителя
+    // 14: без тегов       TO_DO        без исполнителя
+    private final ProjectTagIndex index = ProjectTagIndex.of(
+            List.of(
+                    issue(10, IssueStatus.TO_DO, 100L),
+                    issue(11, IssueStatus.IN_PROGRESS, 100L),
+                    issue(12, IssueStatus.TO_DO, 200L),
+                    issue(13, IssueStatus.DONE, null),
+                    issue(14, IssueStatus.TO_DO, null)),
+            List.of(
+                    tag(10, BUG), tag(10, UI),
+                    tag(11, BUG), tag(11, BACKEND),
+                    tag(12, UI),
+                    tag(13, BACKEND), tag(13, LEGACY)));
+
+    @Test
+    void emptyFilterReturnsAllIssues() {
+        assertEquals(List.of(10L, 11L, 12L, 13L, 14L), ids(filter(null, null, null, null, null)));
+        assertEquals(5, index.issueCount());
+        assertEquals(4, index.tagCount());
+    }
+
+    @Test
+    void allTagsIsIntersection() {
+        assertEquals(List.of(10L, 11L), ids(filter(List.of(BUG), null, null, null, null)));
+        assertEquals(List.of(10L), ids(filter(List.of(BUG, UI), null, null, null, null)));
+        assertEquals(List.of(), ids(filter(List.of(UI, LEGACY), null, null, null, null)));
+    }
+
+    @Test
+    void unknownTagInAllMatchesNothing() {
+        assertEquals(List.of(), ids(filter(List.of(BUG, 99L), null, null, null, null)));
+    }
+
+    @Test
+    void anyTagsIsUnion() {
+        assertEquals(List.of(10L, 12L, 13L), ids(filter(null, List.of(UI, LEGACY), null, null, null)));
+        assertEquals(List.of(12L), ids(filter(null, List.of(UI, 99L), List.of(BUG), null, null)));
+        assertEquals(List.of(), ids(filter(null, List.of(99L), null, null, null)));
+    }
+
+    @Test
+    void emptyAnyTagsIsIgnored() {
+        assertEquals(5, filter(null, List.of(), null, null, null).getCardinality());
+    }
+
+    @Test
+    void excludedTagsAreSubtracted() {
+        assertEquals(List.of(12L, 14L), ids(filter(null, null, List.of(BUG, BACKEND), null, null)));
+        assertEquals(List.of(10L, 11L, 12L, 13L, 14L), ids(filter(null, null, List.of(99L), null, null)));
+    }
+
+    @Test
+    void andOrNotCombine() {
+        // (BUG) AND (UI OR BACKEND) AND NOT LEGACY
+        assertEquals(List.of(10L, 11L), ids(filter(List.of(BUG), List.of(UI, BACKEND), List.of(LEGACY), null, null)));
+        // (UI OR BACKEND) AND NOT BUG
+        assertEquals(List.of(12L, 13L), ids(filter(null, List.of(UI, BACKEND), List.of(BUG), null, null)));
+    }
+
+    @Test
+    void statusesAndAssigneeNarrowTagFilter() {
+        assertEquals(List.of(10L, 12L, 14L), ids(filter(null, null, null, List.of(IssueStatus.TO_DO), null)));
+        assertEquals(List.of(11L, 13L), ids(filter(null, null, null, List.of(IssueStatus.IN_PROGRESS, IssueStatus.DONE), null)));
+        assertEquals(List.of(10L), ids(filter(List.of(BUG), null, null, List.of(IssueStatus.TO_DO), 100L)));
+        assertEquals(List.of(), ids(filter(null, null, null, null, 300L)));
+    }
+
+    @Test
+    void replaceIssuesMovesIssueBetweenBitmaps() {
+        // 10 потеряла UI и получила LEGACY, сменила статус и исполнителя; 14 удалена
+        index.replaceIssues(
+                List.of(10L, 14L),
+                List.of(issue(10, IssueStatus.DONE, 200L)),
+                Map.of(10L, List.of(BUG, LEGACY)));
+
+        assertEquals(List.of(12L), ids(filter(null, List.of(UI), null, null, null)));
+        assertEquals(List.of(10L, 13L), ids(filter(List.of(LEGACY), null, null, null, null)));
+        assertEquals(List.of(10L, 13L), ids(filter(null, null, null, List.of(IssueStatus.DONE), null)));
+        assertEquals(List.of(10L, 12L), ids(filter(null, null, null, null, 200L)));
+        assertEquals(List.of(11L), ids(filter(null, null, null, null, 100L)));
+        assertEquals(4, index.issueCount());
+    }
+
+    @Test
+    void removedTagNoLongerMatches() {
+        index.removeTag(UI);
+
+        assertEquals(List.of(), ids(filter(null, List.of(UI), null, null, null)));
+        assertEquals(List.of(10L, 11L), ids(filter(null, null, List.of(UI), List.of(IssueStatus.TO_DO, IssueStatus.IN_PROGRESS), 100L)));
+    }
+
+    @Test
+    void pageSkipsByOffset() {
+        RoaringBitmap result = RoaringBitmap.bitmapOf(3, 5, 8, 13, 21);
+
+        assertEquals(List.of(3L, 5L), ProjectTagIndex.page(result, 0, 2));
+        assertEquals(List.of(8L, 13L), ProjectTagIndex.page(result, 1, 2));
+        assertEquals(List.of(21L), ProjectTagIndex.page(result, 2, 2));
+        assertEquals(List.of(), ProjectTagIndex.page(result, 3, 2));
+    }
+
+    private RoaringBitmap filter(List<Long> all, List<Long> any, List<Long> excluded,
+                                 List<IssueStatus> statuses, Long assigneeId) {
+        return index.filter(new IssueFilterRequest(1L, all, any, excluded, statuses, assigneeId, null, null));
+    }
+
+    private static List<Long> ids(RoaringBitmap bitmap) {
+        return ProjectTagIndex.page(bitmap, 0, 1000);
+    }
+
+    private static IssueIndexRow issue(long id, IssueStatus status, Long assigneeId) {
+        return new IndexRow(id, status, assigneeId);
+    }
+
+    private static IssueTagRow tag(long issueId, long tagId) {
+        return new TagRow(issueId, tagId);
+    }
+
+    private record IndexRow(Long getId, IssueStatus getStatus, Long getAssigneeId) implements IssueIndexRow {}
+
+    private record TagRow(Long getIssueId, Long getTagId) implements IssueTagRow {}
+}
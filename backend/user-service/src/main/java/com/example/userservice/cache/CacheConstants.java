@@ -3,6 +3,7 @@ package com.example.userservice.cache;
 public final class CacheConstants {
     public static final String USER_PROFILE = "userProfiles";
     public static final String USER_PROFILE_BATCH = "userProfilesBatch";
+    public static final String USER_SEARCH = "userSearch";
 
     private CacheConstants() {}
 }
\ No newline at end of file
@@ -1,14 +1,29 @@
 package com.example.userservice.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
 
 @Configuration
 public class AppConfig {
 
+    private static final String BCRYPT = "bcrypt";
+
+    // новые хеши пишутся с префиксом алгоритма ({bcrypt}...) и текущей стоимостью;
+    // старые хеши без префикса проверяются BCrypt и перехешируются при следующем логине
+    // (PasswordHashingService.needsRehash), так стоимость можно поднимать без сброса паролей,
+    // а новый алгоритм добавляется в карту и становится алгоритмом по умолчанию
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:10}") int bcryptStrength) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(BCRYPT, Map.of(BCRYPT, bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
-}
\ No newline at end of file
+}
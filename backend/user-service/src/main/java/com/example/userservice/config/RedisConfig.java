@@ -1,5 +1,7 @@
 package com.example.userservice.config;
 
+import com.example.userservice.cache.CacheConstants;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -17,7 +19,8 @@ import java.time.Duration;
 public class RedisConfig {
 
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory factory) {
+    public RedisCacheManager cacheManager(RedisConnectionFactory factory,
+                                          @Value("${cache.user-search.ttl-seconds:30}") long userSearchTtlSeconds) {
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofHours(1))
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(
@@ -26,8 +29,11 @@ public class RedisConfig {
                         new GenericJackson2JsonRedisSerializer()))
                 .disableCachingNullValues();
 
+        // результаты поиска не сбрасываются при регистрации новых пользователей, поэтому живут недолго
         return RedisCacheManager.builder(factory)
                 .cacheDefaults(config)
+                .withCacheConfiguration(CacheConstants.USER_SEARCH,
+                        config.entryTtl(Duration.ofSeconds(userSearchTtlSeconds)))
                 .build();
     }
 }
\ No newline at end of file
@@ -3,6 +3,9 @@ package com.example.userservice.config;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @Component
 public final class SecurityWhiteList {
@@ -21,5 +24,37 @@ public final class SecurityWhiteList {
             "/v3/api-docs"
     );
 
+    // шаблоны компилируются один раз: точные пути в Set, "/**" в префиксы, прочие "*" в регулярки
+    private static final Set<String> PUBLIC_PATHS = PUBLIC_ENDPOINTS.stream()
+            .filter(pattern -> !pattern.contains("*"))
+            .collect(Collectors.toUnmodifiableSet());
+
+    private static final String[] PUBLIC_PREFIXES = PUBLIC_ENDPOINTS.stream()
+            .filter(pattern -> pattern.endsWith("/**"))
+            .map(pattern -> pattern.substring(0, pattern.length() - 3))
+            .toArray(String[]::new);
+
+    private static final Pattern[] PUBLIC_PATTERNS = PUBLIC_ENDPOINTS.stream()
+            .filter(pattern -> pattern.contains("*") && !pattern.endsWith("/**"))
+            .map(pattern -> Pattern.compile(pattern.replace("*", ".*")))
+            .toArray(Pattern[]::new);
+
     private SecurityWhiteList() {}
+
+    public static boolean isPublicEndpoint(String path) {
+        if (PUBLIC_PATHS.contains(path)) {
+            return true;
+        }
+        for (String prefix : PUBLIC_PREFIXES) {
+            if (path.startsWith(prefix)) {
+                return true;
+            }
+        }
+        for (Pattern pattern : PUBLIC_PATTERNS) {
+            if (pattern.matcher(path).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
\ No newline at end of file
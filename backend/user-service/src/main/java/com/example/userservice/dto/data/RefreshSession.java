@@ -0,0 +1,8 @@
+package com.example.userservice.dto.data;
+
+import java.util.UUID;
+
+// состояние refresh-токена в Redis (RefreshTokenStore)
+public record RefreshSession(UUID jti, Long userId, String deviceFingerprint, long expiresAtMillis,
+                             boolean revoked) {
+}
@@ -0,0 +1,12 @@
+package com.example.userservice.dto.data;
+
+import com.example.userservice.dto.models.SystemRole;
+
+import java.time.LocalDateTime;
+
+// поля пользователя для выдачи access-токена без загрузки сущности User
+public record UserAuthState(Long id, String email, SystemRole systemRole,
+                            LocalDateTime lockedAt, LocalDateTime deletedAt) {
+    public boolean isLocked() { return lockedAt != null; }
+    public boolean isDeleted() { return deletedAt != null; }
+}
@@ -18,7 +18,8 @@ import java.util.UUID;
 @AllArgsConstructor
 public class RefreshToken {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "token_seq")
+    @SequenceGenerator(name = "token_seq", sequenceName = "tokens_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
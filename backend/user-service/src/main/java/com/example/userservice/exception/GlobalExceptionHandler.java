@@ -139,6 +139,16 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.UNPROCESSABLE_ENTITY, ex.getMessage(), request);
     }
 
+    // 503 пул хеширования паролей перегружен
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<Object> handleHashingBusy(PasswordHashingBusyException ex,
+                                                    HttpServletRequest request) {
+        ResponseEntity<Object> response = buildResponse(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), request);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response.getBody());
+    }
+
     // 500 обработка всех RuntimeException
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleAllUncaughtException(Exception ex,
@@ -2,12 +2,29 @@ package com.example.userservice.repository;
 
 import com.example.userservice.dto.models.RefreshToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface TokenRepository extends JpaRepository<RefreshToken, Long> {
     Optional<RefreshToken> findByJti(UUID jti);
-    List<RefreshToken> findAllByUser_IdAndRevokedFalse(Long userId);
+
+    // запись аудита из Redis (RefreshTokenAuditWriter)
+    @Query("SELECT t.jti FROM RefreshToken t WHERE t.jti IN :jtis")
+    List<UUID> findExistingJtis(@Param("jtis") Collection<UUID> jtis);
+
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revoked = true WHERE t.jti IN :jtis")
+    int revokeByJtiIn(@Param("jtis") Collection<UUID> jtis);
+
+    // отзыв всех сессий пользователя; идет по частичному индексу idx_tokens_user_active (V3),
+    // в который попадают только неотозванные токены
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revoked = true WHERE t.user.id = :userId AND t.revoked = false")
+    int revokeAllActiveByUserId(@Param("userId") Long userId);
 }
@@ -1,10 +1,13 @@
 package com.example.userservice.repository;
 
+import com.example.userservice.dto.data.UserAuthState;
 import com.example.userservice.dto.data.UserFlags;
 import com.example.userservice.dto.models.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,10 +17,43 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     @Query("SELECT u.lockedAt, u.deletedAt FROM User u WHERE u.id = :id")
     Optional<UserFlags> findFlagsById(@Param("id") Long id);
-    boolean existsByUsernameAndTag(String username, String tag);
+    @Query("SELECT u.id, u.email, u.systemRole, u.lockedAt, u.deletedAt FROM User u WHERE u.id = :id")
+    Optional<UserAuthState> findAuthStateById(@Param("id") Long id);
+
+    // условное обновление: перехеширование после логина не затирает пароль, смененный параллельно
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.passwordHash = :newHash WHERE u.id = :id AND u.passwordHash = :oldHash")
+    int updatePasswordHash(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
+    @Query("SELECT u.tag FROM User u WHERE u.username = :username")
+    List<String> findTagsByUsername(@Param("username") String username);
     Optional<User> findByUsernameIgnoreCaseAndTagAndDeletedAtIsNullAndLockedAtIsNull(
             String username, String tag);
     List<User> findTop10ByTagAndDeletedAtIsNullAndLockedAtIsNull(String tag);
-    List<User> findTop10ByUsernameContainingIgnoreCaseAndDeletedAtIsNullAndLockedAtIsNull(
-            String username);
+
+    // поиск по имени идет по индексам V5 (lower(username), только активные пользователи);
+    // pattern - уже экранированный LIKE-шаблон в нижнем регистре (экранирование обратным слешем)
+
+    // точное совпадение и префикс: в порядке индекса точное имя идет первым, за ним более длинные
+    @Query(value = """
+            SELECT * FROM user_service_schema.users u
+            WHERE lower(u.username) COLLATE "C" LIKE :pattern
+              AND u.deleted_at IS NULL AND u.locked_at IS NULL
+            ORDER BY lower(u.username) COLLATE "C", u.tag
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<User> searchByUsernamePrefix(@Param("pattern") String pattern, @Param("limit") int limit);
+
+    // подстрока не с начала имени (триграммный индекс): более короткие имена ближе к запросу
+    @Query(value = """
+            SELECT * FROM user_service_schema.users u
+            WHERE lower(u.username) LIKE :pattern
+              AND lower(u.username) COLLATE "C" NOT LIKE :prefixPattern
+              AND u.deleted_at IS NULL AND u.locked_at IS NULL
+            ORDER BY length(u.username), lower(u.username) COLLATE "C", u.tag
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<User> searchByUsernameSubstring(@Param("pattern") String pattern,
+                                         @Param("prefixPattern") String prefixPattern,
+                                         @Param("limit") int limit);
 }
@@ -3,7 +3,7 @@ package com.example.userservice.service;
 import com.example.userservice.cache.CacheConstants;
 import com.example.userservice.dto.response.*;
 import com.example.userservice.exception.*;
-import com.example.userservice.dto.models.RefreshToken;
+import com.example.userservice.dto.data.UserAuthState;
 import com.example.userservice.dto.models.SystemRole;
 import com.example.userservice.dto.models.User;
 import com.example.userservice.repository.UserRepository;
@@ -12,7 +12,6 @@ import org.springframework.cache.annotation.Caching;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -26,7 +25,7 @@ public class AuthService {
     private final UserService userService;
     private final TokenService tokenService;
     private final TokenRevocationService revocationService;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashing;
 
     @Transactional
     public LoginResponse register(String username, String email, String password, String deviceFingerprint) {
@@ -43,11 +42,13 @@ public class AuthService {
             throw new EmailAlreadyExistsException("Email already in use");
         }
 
+        // хеш считается до выбора тега: тег держит блокировку username до коммита
+        String passwordHash = passwordHashing.encode(password);
         String tag = userService.generateUniqueTag(username);
 
         User user = User.builder()
                 .email(email)
-                .passwordHash(passwordEncoder.encode(password))
+                .passwordHash(passwordHash)
                 .username(username)
                 .tag(tag)
                 .systemRole(SystemRole.USER)
@@ -74,10 +75,12 @@ public class AuthService {
             throw new AccountLockedException();
         }
 
-        if (!passwordEncoder.matches(password, user.getPasswordHash())) {
+        if (!passwordHashing.matches(password, user.getPasswordHash())) {
             throw new AuthenticationException("Incorrect login or password");
         }
 
+        rehashIfNeeded(user, password);
+
         TokenPair pair = tokenService.createTokenPair(user, deviceFingerprint);
         return new LoginResponse(
                 user.getId(), user.getUsername(),
@@ -85,23 +88,23 @@ public class AuthService {
         );
     }
 
-    @Transactional
+    // без загрузки User и без записи в БД: только поля для access-токена и ротация в Redis
     public TokenPair refresh(String refreshTokenString, String deviceFingerprint) {
 
-        RefreshToken current = tokenService.validateRefreshToken(refreshTokenString, deviceFingerprint);
+        Long userId = tokenService.extractUserId(refreshTokenString);
 
-        User user = current.getUser();
+        UserAuthState user = userRepository.findAuthStateById(userId)
+                .orElseThrow(() -> new InvalidTokenException("Token not found"));
 
-        if (user.getDeletedAt() != null) {
+        if (user.isDeleted()) {
             throw new AccountDeletedException();
         }
 
-        if (user.getLockedAt() != null) {
+        if (user.isLocked()) {
             throw new AccountLockedException();
         }
 
-        tokenService.revokeByString(refreshTokenString);
-        return tokenService.createTokenPair(user, deviceFingerprint);
+        return tokenService.rotate(refreshTokenString, deviceFingerprint, user);
     }
 
     public void logout(String refreshTokenString) {
@@ -121,7 +124,7 @@ public class AuthService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException(userId));
 
-        if (!passwordEncoder.matches(oldPassword, user.getPasswordHash())) {
+        if (!passwordHashing.matches(oldPassword, user.getPasswordHash())) {
             throw new AuthenticationException("Incorrect password");
         }
 
@@ -129,7 +132,7 @@ public class AuthService {
             throw new AuthenticationException("Password must be different");
         }
 
-        user.setPasswordHash(passwordEncoder.encode(newPassword));
+        user.setPasswordHash(passwordHashing.encode(newPassword));
 
         revocationService.revokeAllByUser(userId);
         TokenPair pair = tokenService.createTokenPair(user, deviceFingerprint);
@@ -145,7 +148,7 @@ public class AuthService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException(userId));
 
-        if (!passwordEncoder.matches(password, user.getPasswordHash())) {
+        if (!passwordHashing.matches(password, user.getPasswordHash())) {
             throw new AuthenticationException("Incorrect password");
         }
 
@@ -166,7 +169,8 @@ public class AuthService {
 
     @Caching(evict = {
             @CacheEvict(value = CacheConstants.USER_PROFILE, key = "#userId"),
-            @CacheEvict(value = CacheConstants.USER_PROFILE_BATCH, allEntries = true)
+            @CacheEvict(value = CacheConstants.USER_PROFILE_BATCH, allEntries = true),
+            @CacheEvict(value = CacheConstants.USER_SEARCH, allEntries = true)
     })
     @Transactional
     public DeleteAccountResponse deleteAccount(Long userId, String password) {
@@ -174,7 +178,7 @@ public class AuthService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException(userId));
 
-        if (!passwordEncoder.matches(password, user.getPasswordHash())) {
+        if (!passwordHashing.matches(password, user.getPasswordHash())) {
             throw new AuthenticationException("Incorrect password");
         }
 
@@ -183,4 +187,21 @@ public class AuthService {
         revocationService.revokeAllByUser(userId);
         return DeleteAccountResponse.of(userId, LocalDateTime.now());
     }
-}
\ No newline at end of file
+
+    // пароль известен только при логине, поэтому хеш со старым алгоритмом/стоимостью обновляется здесь;
+    // ответ не ждет перехеширования, а новый хеш пишется, только если пароль за это время не сменили
+    private void rehashIfNeeded(User user, String password) {
+        String currentHash = user.getPasswordHash();
+        if (!passwordHashing.needsRehash(currentHash)) {
+            return;
+        }
+
+        Long userId = user.getId();
+        passwordHashing.encodeInBackground(password)
+                .thenAccept(newHash -> userRepository.updatePasswordHash(userId, currentHash, newHash))
+                .exceptionally(e -> {
+                    log.warn("Password rehash for user {} skipped: {}", userId, e.getMessage());
+                    return null;
+                });
+    }
+}
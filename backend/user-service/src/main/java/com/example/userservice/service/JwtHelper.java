@@ -1,6 +1,7 @@
 package com.example.userservice.service;
 
 import com.example.userservice.config.JwtConfig;
+import com.example.userservice.dto.models.SystemRole;
 import com.example.userservice.dto.models.User;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
@@ -19,10 +20,14 @@ public class JwtHelper {
     public String generateAccess(User user) {
         Objects.requireNonNull(user, "user must not be null");
 
+        return generateAccess(user.getId(), user.getEmail(), user.getSystemRole());
+    }
+
+    public String generateAccess(Long userId, String email, SystemRole role) {
         return Jwts.builder()
-                .setSubject(user.getId().toString())
-                .claim("email", user.getEmail())
-                .claim("role", user.getSystemRole().name())
+                .setSubject(userId.toString())
+                .claim("email", email)
+                .claim("role", role.name())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + cfg.getAccessTokenExpiration()))
                 .signWith(cfg.getSecretKey())
@@ -33,8 +38,12 @@ public class JwtHelper {
                                   Date expiration) {
         Objects.requireNonNull(user, "user must not be null");
 
+        return generateRefresh(user.getId(), jti, expiration);
+    }
+
+    public String generateRefresh(Long userId, UUID jti, Date expiration) {
         return Jwts.builder()
-                .setSubject(user.getId().toString())
+                .setSubject(userId.toString())
                 .setId(jti.toString())
                 .setIssuedAt(new Date())
                 .setExpiration(expiration)
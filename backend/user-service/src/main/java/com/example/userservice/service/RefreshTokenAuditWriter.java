@@ -0,0 +1,128 @@
+package com.example.userservice.service;
+
+import com.example.userservice.dto.models.RefreshToken;
+import com.example.userservice.repository.TokenRepository;
+import com.example.userservice.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+@Component
+@Slf4j
+public class RefreshTokenAuditWriter {
+
+    // write-behind: события выдачи и отзыва refresh-токенов из очереди refresh:audit (RefreshTokenStore)
+    // переносятся в таблицу tokens пачками; таблица нужна для аудита, токены проверяются только по Redis
+    //
+    // пачка читается без удаления и убирается из очереди после коммита, поэтому при ошибке она будет
+    // записана повторно: уже записанные jti пропускаются, отзыв идемпотентен.
+    // одновременно пишет один инстанс (блокировка в Redis), иначе пачки дублировались бы
+
+    private static final String LOCK_KEY = "refresh:audit:lock";
+    // аренда блокировки с запасом на пачку; истекает сама, если инстанс упал во время записи
+    private static final Duration LOCK_LEASE = Duration.ofSeconds(30);
+
+    private final StringRedisTemplate redisTemplate;
+    private final TokenRepository tokenRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public RefreshTokenAuditWriter(StringRedisTemplate redisTemplate,
+                                   TokenRepository tokenRepository,
+                                   UserRepository userRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${auth.refresh-store.flush-batch-size:500}") int batchSize) {
+        this.redisTemplate = redisTemplate;
+        this.tokenRepository = tokenRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${auth.refresh-store.flush-interval-ms:1000}")
+    public void flush() {
+        Boolean locked = redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, "1", LOCK_LEASE);
+        if (!Boolean.TRUE.equals(locked)) {
+            return;
+        }
+
+        try {
+            List<String> batch;
+            do {
+                batch = redisTemplate.opsForList().range(RefreshTokenStore.AUDIT_QUEUE, 0, batchSize - 1);
+                if (batch == null || batch.isEmpty()) {
+                    return;
+                }
+
+                List<String> events = batch;
+                transactionTemplate.executeWithoutResult(status -> write(events));
+                redisTemplate.opsForList().trim(RefreshTokenStore.AUDIT_QUEUE, batch.size(), -1);
+
+                log.debug("Persisted {} refresh token events", batch.size());
+            } while (batch.size() == batchSize);
+        } catch (Exception e) {
+            log.error("Refresh token audit flush failed, will retry: {}", e.getMessage());
+        } finally {
+            redisTemplate.delete(LOCK_KEY);
+        }
+    }
+
+    // порядок событий важен только относительно отзыва всех токенов пользователя (U):
+    // новые токены после смены пароля не должны попасть под отзыв, выданный до них
+    private void write(List<String> events) {
+        Map<UUID, RefreshToken> issued = new LinkedHashMap<>();
+        Set<UUID> revoked = new HashSet<>();
+
+        for (String event : events) {
+            String[] parts = event.split("\\|", 5);
+            switch (parts[0]) {
+                case "I" -> issued.put(UUID.fromString(parts[1]), toEntity(parts));
+                case "R" -> revoked.add(UUID.fromString(parts[1]));
+                case "U" -> {
+                    writeSegment(issued, revoked);
+                    tokenRepository.revokeAllActiveByUserId(Long.valueOf(parts[1]));
+                }
+                default -> log.warn("Skipping unknown refresh token event: {}", event);
+            }
+        }
+        writeSegment(issued, revoked);
+    }
+
+    private void writeSegment(Map<UUID, RefreshToken> issued, Set<UUID> revoked) {
+        if (!issued.isEmpty()) {
+            tokenRepository.findExistingJtis(issued.keySet()).forEach(issued::remove);
+            tokenRepository.saveAll(issued.values());
+            tokenRepository.flush();
+            issued.clear();
+        }
+        if (!revoked.isEmpty()) {
+            tokenRepository.revokeByJtiIn(revoked);
+            revoked.clear();
+        }
+    }
+
+    // I|jti|userId|expiresAtMillis|fingerprint
+    private RefreshToken toEntity(String[] parts) {
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(Long.parseLong(parts[3])), ZoneId.systemDefault());
+
+        return RefreshToken.builder()
+                .user(userRepository.getReferenceById(Long.valueOf(parts[2])))
+                .jti(UUID.fromString(parts[1]))
+                .expiresAt(expiresAt)
+                .deviceFingerprint(parts[4])
+                .revoked(false)
+                .build();
+    }
+}
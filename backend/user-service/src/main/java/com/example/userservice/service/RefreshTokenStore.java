@@ -0,0 +1,101 @@
+package com.example.userservice.service;
+
+import com.example.userservice.config.JwtConfig;
+import com.example.userservice.dto.data.RefreshSession;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenStore {
+
+    // refresh-токены в Redis: refresh:token:{jti} -> hash (uid, fp, exp, rev) с TTL до истечения токена,
+    // refresh:user:{userId} -> множество активных jti для отзыва всех сессий пользователя
+    // выдача, ротация и отзыв - атомарные lua-скрипты (один запрос к Redis), каждое изменение добавляет
+    // событие в очередь refresh:audit, которую RefreshTokenAuditWriter переносит в таблицу tokens
+    // отзыв токена, которого нет в Redis, оставляет надгробие (exp, rev) без uid до истечения токена
+    // refresh:revoked-before:{userId} - время последнего отзыва всех токенов, старше него токены из Postgres не импортируются
+
+    static final String TOKEN_PREFIX = "refresh:token:";
+    static final String USER_PREFIX = "refresh:user:";
+    static final String AUDIT_QUEUE = "refresh:audit";
+    static final String REVOKED_BEFORE_PREFIX = "refresh:revoked-before:";
+
+    private static final RedisScript<Long> ISSUE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/refresh_issue.lua"), Long.class);
+    private static final RedisScript<String> ROTATE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/refresh_rotate.lua"), String.class);
+    private static final RedisScript<Long> REVOKE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/refresh_revoke.lua"), Long.class);
+    private static final RedisScript<Long> REVOKE_ALL_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/refresh_revoke_all.lua"), Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final JwtConfig cfg;
+
+    public void issue(UUID jti, Long userId, String deviceFingerprint, long expiresAtMillis) {
+        redisTemplate.execute(ISSUE_SCRIPT, issueKeys(jti, userId),
+                jti.toString(), userId.toString(), deviceFingerprint, String.valueOf(expiresAtMillis), "1",
+                String.valueOf(System.currentTimeMillis()));
+    }
+
+    // перенос токена, выданного до хранения в Redis (строка в tokens уже есть, событие не нужно);
+    // токен, выданный до последнего revokeAll пользователя, не переносится
+    public boolean importIssued(UUID jti, Long userId, String deviceFingerprint,
+                                long issuedAtMillis, long expiresAtMillis) {
+        Long stored = redisTemplate.execute(ISSUE_SCRIPT, issueKeys(jti, userId),
+                jti.toString(), userId.toString(), deviceFingerprint, String.valueOf(expiresAtMillis), "0",
+                String.valueOf(issuedAtMillis));
+        return stored != null && stored == 1;
+    }
+
+    public Optional<RefreshSession> find(UUID jti) {
+        List<Object> fields = redisTemplate.opsForHash()
+                .multiGet(TOKEN_PREFIX + jti, List.of("uid", "fp", "exp", "rev"));
+        // надгробие без uid тоже не найдено: такой токен уже не примет ни проверка, ни импорт
+        if (fields.getFirst() == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new RefreshSession(
+                jti,
+                Long.valueOf((String) fields.get(0)),
+                (String) fields.get(1),
+                Long.parseLong((String) fields.get(2)),
+                "1".equals(fields.get(3))));
+    }
+
+    public RotationResult rotate(UUID jti, Long userId, String deviceFingerprint,
+                                 UUID newJti, long newExpiresAtMillis) {
+        String result = redisTemplate.execute(ROTATE_SCRIPT,
+                List.of(TOKEN_PREFIX + jti, USER_PREFIX + userId, TOKEN_PREFIX + newJti, AUDIT_QUEUE),
+                jti.toString(), userId.toString(), deviceFingerprint,
+                newJti.toString(), String.valueOf(newExpiresAtMillis));
+        return RotationResult.valueOf(result);
+    }
+
+    public void revoke(UUID jti, Long userId, long expiresAtMillis) {
+        redisTemplate.execute(REVOKE_SCRIPT,
+                List.of(TOKEN_PREFIX + jti, USER_PREFIX + userId, AUDIT_QUEUE),
+                jti.toString(), String.valueOf(expiresAtMillis));
+    }
+
+    public long revokeAll(Long userId) {
+        Long revoked = redisTemplate.execute(REVOKE_ALL_SCRIPT,
+                List.of(USER_PREFIX + userId, AUDIT_QUEUE, REVOKED_BEFORE_PREFIX + userId),
+                userId.toString(), TOKEN_PREFIX, String.valueOf(cfg.getRefreshTokenExpiration()));
+        return revoked != null ? revoked : 0;
+    }
+
+    private static List<String> issueKeys(UUID jti, Long userId) {
+        return List.of(TOKEN_PREFIX + jti, USER_PREFIX + userId, AUDIT_QUEUE, REVOKED_BEFORE_PREFIX + userId);
+    }
+
+    public enum RotationResult { OK, NOT_FOUND, MISMATCH, REVOKED, EXPIRED }
+}
@@ -1,24 +1,18 @@
 package com.example.userservice.service;
 
-import com.example.userservice.dto.models.RefreshToken;
-import com.example.userservice.repository.TokenRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
-
-import java.util.List;
-import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class TokenRevocationService {
-    private final TokenRepository tokenRepository;
+    private final RefreshTokenStore tokenStore;
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    // отзыв в Redis не зависит от транзакции вызывающего: при DeviceMismatchException он не откатывается
     public void revokeAllByUser(Long userId) {
-        List<RefreshToken> active = tokenRepository.findAllByUser_IdAndRevokedFalse(userId);
-        active.forEach(t -> t.setRevoked(true));
-        tokenRepository.saveAll(active);
+        long revoked = tokenStore.revokeAll(userId);
+        log.info("Revoked {} refresh tokens of user {}", revoked, userId);
     }
 }
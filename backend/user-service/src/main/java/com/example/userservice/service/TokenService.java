@@ -1,97 +1,110 @@
 package com.example.userservice.service;
 
 import com.example.userservice.config.JwtConfig;
+import com.example.userservice.dto.data.RefreshSession;
+import com.example.userservice.dto.data.UserAuthState;
 import com.example.userservice.exception.DeviceMismatchException;
 import com.example.userservice.exception.InvalidTokenException;
 import com.example.userservice.dto.response.TokenPair;
-import com.example.userservice.dto.models.RefreshToken;
 import com.example.userservice.dto.models.User;
 import com.example.userservice.repository.TokenRepository;
 import io.jsonwebtoken.*;
-import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Date;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class TokenService {
+
+    // состояние refresh-токенов хранится в Redis (RefreshTokenStore), таблица tokens пополняется
+    // в фоне (RefreshTokenAuditWriter) и читается только для токенов, выданных до переноса в Redis
+
     private final JwtConfig cfg;
     private final JwtHelper jwtHelper;
     private final TokenRevocationService revocationService;
+    private final RefreshTokenStore tokenStore;
     private final TokenRepository tokenRepository;
 
-    @Transactional
     public TokenPair createTokenPair(User user, String deviceFingerprint) {
-
         UUID jti = UUID.randomUUID();
+        Date refreshExp = new Date(System.currentTimeMillis() + cfg.getRefreshTokenExpiration());
 
-        long refreshTtlMillis = cfg.getRefreshTokenExpiration();
-        Date refreshExp = new Date(System.currentTimeMillis() + refreshTtlMillis);
+        // внутри транзакции (регистрация, смена пароля) токен записывается в Redis только после коммита:
+        // при откате не останется токена пользователя, которого нет в БД и которого не примет запись аудита
+        Long userId = user.getId();
+        afterCommit(() -> tokenStore.issue(jti, userId, deviceFingerprint, refreshExp.getTime()));
 
         String access = jwtHelper.generateAccess(user);
         String refresh = jwtHelper.generateRefresh(user, jti, refreshExp);
-
-        RefreshToken rt = RefreshToken.builder()
-                .user(user)
-                .jti(jti)
-                .expiresAt(refreshExp.toInstant()
-                        .atZone(ZoneId.systemDefault())
-                        .toLocalDateTime())
-                .deviceFingerprint(deviceFingerprint)
-                .revoked(false)
-                .build();
-        tokenRepository.save(rt);
-
         return new TokenPair(access, refresh);
     }
 
-    @Transactional
-    public RefreshToken validateRefreshToken(String refreshToken, String deviceFingerprint) {
+    public RefreshSession validateRefreshToken(String refreshToken, String deviceFingerprint) {
         Claims claims = jwtHelper.parseToken(refreshToken);
         UUID jti = UUID.fromString(claims.getId());
 
-        RefreshToken stored = tokenRepository.findByJti(jti)
+        RefreshSession stored = tokenStore.find(jti)
+                .or(() -> importFromDatabase(jti))
                 .orElseThrow(() -> new InvalidTokenException("Token not found"));
 
-        if (!stored.getDeviceFingerprint().equals(deviceFingerprint)) {
-            log.warn("Device mismatch: jti: {}, userId: {}",
-                    stored.getJti(), stored.getUser().getId());
-
-            revocationService.revokeAllByUser(stored.getUser().getId());
-
-            throw new DeviceMismatchException();
+        if (!stored.deviceFingerprint().equals(deviceFingerprint)) {
+            rejectForeignDevice(jti, stored.userId());
         }
 
-        if (stored.getRevoked()) {
+        if (stored.revoked()) {
             throw new InvalidTokenException("Token is revoked");
         }
 
-        if (stored.getExpiresAt().isBefore(LocalDateTime.now())) {
+        if (stored.expiresAtMillis() < System.currentTimeMillis()) {
             throw new InvalidTokenException("Token is expired");
         }
 
         return stored;
     }
 
-    public RefreshToken getTokenByString(String refreshToken) {
+    // ротация: проверка старого токена, его отзыв и выдача нового - один скрипт в Redis
+    public TokenPair rotate(String refreshToken, String deviceFingerprint, UserAuthState user) {
         Claims claims = jwtHelper.parseToken(refreshToken);
         UUID jti = UUID.fromString(claims.getId());
+        Long userId = Long.valueOf(claims.getSubject());
 
-        return tokenRepository.findByJti(jti)
-                .orElseThrow(() -> new InvalidTokenException("Token not found"));
+        UUID newJti = UUID.randomUUID();
+        Date refreshExp = new Date(System.currentTimeMillis() + cfg.getRefreshTokenExpiration());
+
+        RefreshTokenStore.RotationResult result =
+                tokenStore.rotate(jti, userId, deviceFingerprint, newJti, refreshExp.getTime());
+        if (result == RefreshTokenStore.RotationResult.NOT_FOUND && importFromDatabase(jti).isPresent()) {
+            result = tokenStore.rotate(jti, userId, deviceFingerprint, newJti, refreshExp.getTime());
+        }
+
+        switch (result) {
+            case OK -> {
+                String access = jwtHelper.generateAccess(user.id(), user.email(), user.systemRole());
+                String refresh = jwtHelper.generateRefresh(user.id(), newJti, refreshExp);
+                return new TokenPair(access, refresh);
+            }
+            case MISMATCH -> rejectForeignDevice(jti, userId);
+            case REVOKED -> throw new InvalidTokenException("Token is revoked");
+            case EXPIRED -> throw new InvalidTokenException("Token is expired");
+            case NOT_FOUND -> throw new InvalidTokenException("Token not found");
+        }
+        throw new IllegalStateException("Unexpected rotation result " + result);
     }
 
-    @Transactional
     public void revokeByString(String refreshToken) {
-        RefreshToken token = getTokenByString(refreshToken);
-        token.setRevoked(true);
+        Claims claims = jwtHelper.parseToken(refreshToken);
+        tokenStore.revoke(UUID.fromString(claims.getId()), Long.valueOf(claims.getSubject()),
+                claims.getExpiration().getTime());
     }
 
     public Long extractUserId(String token) {
@@ -105,4 +118,45 @@ public class TokenService {
     public String extractRole(String token) {
         return jwtHelper.parseToken(token).get("role", String.class);
     }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // токен предъявлен с другого устройства - считаем его украденным и отзываем все сессии пользователя
+    private void rejectForeignDevice(UUID jti, Long userId) {
+        log.warn("Device mismatch: jti: {}, userId: {}", jti, userId);
+
+        revocationService.revokeAllByUser(userId);
+
+        throw new DeviceMismatchException();
+    }
+
+    // токены, выданные до переноса в Redis, есть только в tokens: при первом предъявлении переносятся в Redis
+    private Optional<RefreshSession> importFromDatabase(UUID jti) {
+        return tokenRepository.findByJti(jti)
+                .filter(token -> !token.getRevoked())
+                .filter(token -> token.getExpiresAt().isAfter(LocalDateTime.now()))
+                .flatMap(token -> {
+                    // без created_at токен считается выданным раньше любого отзыва всех сессий
+                    long issuedAtMillis = token.getCreatedAt() != null ? toEpochMillis(token.getCreatedAt()) : 0;
+                    tokenStore.importIssued(jti, token.getUser().getId(), token.getDeviceFingerprint(),
+                            issuedAtMillis, toEpochMillis(token.getExpiresAt()));
+                    // токен, отклоненный из-за revokeAll, в Redis не появится и будет считаться ненайденным
+                    return tokenStore.find(jti);
+                });
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
 }
@@ -16,9 +16,10 @@ import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.security.SecureRandom;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,11 +27,14 @@ import java.util.stream.Collectors;
 @Slf4j
 public class UserService {
     private final UserRepository userRepository;
-    private final SecureRandom random = new SecureRandom();
+    private final UsernameTagAllocator tagAllocator;
+
+    private static final int SEARCH_LIMIT = 10;
 
     @Caching(evict = {
             @CacheEvict(value = CacheConstants.USER_PROFILE, key = "#userId"),
-            @CacheEvict(value = CacheConstants.USER_PROFILE_BATCH, allEntries = true)
+            @CacheEvict(value = CacheConstants.USER_PROFILE_BATCH, allEntries = true),
+            @CacheEvict(value = CacheConstants.USER_SEARCH, allEntries = true)
     })
     @Transactional
     public ChangeProfileResponse updateProfileById(Long userId, String username, String bio) {
@@ -108,22 +112,15 @@ public class UserService {
                 .collect(Collectors.toList());
     }
 
-    @Transactional(readOnly = true) // метод для генерации уникального username + tag (10 попыток)
+    // тег для нового username; вызывается в транзакции, которая сохраняет пользователя (см. UsernameTagAllocator)
+    @Transactional
     public String generateUniqueTag(String username) {
-        for (int attempt = 0; attempt < 10; attempt++) {
-            String tag = String.format("%04d", random.nextInt(10000));
-
-            boolean exists = userRepository.existsByUsernameAndTag(username, tag);
-            if (!exists) {
-                return tag;
-            }
-        }
-
-        throw new UsernameTagExhaustedException(
-                "No available tags for username " + username + ". Please choose another username."
-        );
+        return tagAllocator.allocate(username);
     }
 
+    // результаты кешируются на короткое время (cache.user-search.ttl-seconds): диалог приглашения
+    // шлет запрос на каждое нажатие клавиши, и популярные префиксы повторяются у многих пользователей
+    @Cacheable(value = CacheConstants.USER_SEARCH, key = "#query.trim().toLowerCase()")
     @Transactional(readOnly = true)
     public List<PublicProfileResponse> searchUsers(String query) {
         if (query == null || query.isBlank()) {
@@ -166,16 +163,33 @@ public class UserService {
                     .map(List::of)
                     .orElseGet(List::of);
         }
-        // поиск по юзернейму и его вхождениям
+        // поиск по юзернейму и его вхождениям: точное совпадение > префикс > подстрока
         else {
             log.info("Started username search by: {}", trimmed);
 
-            foundUsers = userRepository
-                    .findTop10ByUsernameContainingIgnoreCaseAndDeletedAtIsNullAndLockedAtIsNull(trimmed);
+            foundUsers = searchByUsername(trimmed.toLowerCase(Locale.ROOT));
         }
 
         return foundUsers.stream()
                 .map(PublicProfileResponse::fromUser)
                 .collect(Collectors.toList());
     }
+
+    private List<User> searchByUsername(String query) {
+        String escaped = escapeLike(query);
+        List<User> found = new ArrayList<>(userRepository.searchByUsernamePrefix(escaped + "%", SEARCH_LIMIT));
+
+        // из 1-2 символов не составить триграмму, для коротких запросов ищем только по префиксу
+        if (found.size() < SEARCH_LIMIT && query.length() >= 3) {
+            found.addAll(userRepository.searchByUsernameSubstring(
+                    "%" + escaped + "%", escaped + "%", SEARCH_LIMIT - found.size()));
+        }
+        return found;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
 }
@@ -0,0 +1,70 @@
+package com.example.userservice.service;
+
+import com.example.userservice.exception.UsernameTagExhaustedException;
+import com.example.userservice.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.util.BitSet;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UsernameTagAllocator {
+
+    // выбор свободного тега для username за один запрос: занятые теги читаются по индексу (username, tag)
+    // в битовую карту на 10 000 тегов, случайный тег берется среди свободных
+    //
+    // параллельные регистрации с одним username сериализуются advisory lock до конца транзакции вызывающего,
+    // поэтому две транзакции не выберут один тег и не упадут на UNIQUE (username, tag);
+    // разные username друг друга не блокируют (коллизии hashtext только изредка добавляют ожидание)
+
+    static final int TAG_COUNT = 10_000;
+
+    // первый ключ advisory lock отделяет эти блокировки от других возможных advisory lock в базе
+    private static final int LOCK_NAMESPACE = 0x7461_6773;
+
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final SecureRandom random = new SecureRandom();
+
+    // блокировка живет до коммита, поэтому метод работает только внутри транзакции, которая сохранит пользователя
+    @Transactional(propagation = Propagation.MANDATORY)
+    public String allocate(String username) {
+        jdbcTemplate.query("SELECT pg_advisory_xact_lock(?, hashtext(?))", rs -> {}, LOCK_NAMESPACE, username);
+
+        BitSet taken = new BitSet(TAG_COUNT);
+        for (String tag : userRepository.findTagsByUsername(username)) {
+            taken.set(Integer.parseInt(tag));
+        }
+
+        int free = TAG_COUNT - taken.cardinality();
+        if (free == 0) {
+            throw new UsernameTagExhaustedException(
+                    "No available tags for username " + username + ". Please choose another username."
+            );
+        }
+
+        // k-й свободный тег при случайном k: равномерно среди свободных и без повторных запросов
+        int tag = nthFreeTag(taken, random.nextInt(free));
+
+        if (free < TAG_COUNT / 10) {
+            log.warn("Username {} has only {} free tags left", username, free);
+        }
+        return String.format("%04d", tag);
+    }
+
+    // n-й (с нуля) сброшенный бит; вызывающий гарантирует n < TAG_COUNT - taken.cardinality()
+    static int nthFreeTag(BitSet taken, int n) {
+        int tag = taken.nextClearBit(0);
+        for (int skip = n; skip > 0; skip--) {
+            tag = taken.nextClearBit(tag + 1);
+        }
+        return tag;
+    }
+}
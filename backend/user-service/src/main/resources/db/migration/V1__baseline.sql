@@ -0,0 +1,39 @@
+-- Базовая схема user-service в том виде, в котором ее создавал ddl-auto=update.
+-- На существующих базах не выполняется (baseline-on-migrate с версией 1), на новых создает таблицы с нуля.
+
+CREATE SCHEMA IF NOT EXISTS user_service_schema;
+
+CREATE TABLE IF NOT EXISTS user_service_schema.users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username VARCHAR(255) NOT NULL,
+    tag VARCHAR(4) NOT NULL,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    password_hash VARCHAR(255) NOT NULL,
+    bio VARCHAR(255),
+    created_at TIMESTAMP(6),
+    system_role VARCHAR(255) NOT NULL,
+    deleted_at TIMESTAMP(6),
+    locked_at TIMESTAMP(6),
+    UNIQUE (username, tag)
+);
+
+CREATE INDEX IF NOT EXISTS idx_users_username ON user_service_schema.users (username);
+CREATE INDEX IF NOT EXISTS idx_users_tag ON user_service_schema.users (tag);
+
+CREATE TABLE IF NOT EXISTS user_service_schema.avatars (
+    user_id BIGINT NOT NULL PRIMARY KEY REFERENCES user_service_schema.users (id),
+    data BYTEA NOT NULL,
+    mime_type VARCHAR(255) NOT NULL,
+    file_size INTEGER NOT NULL,
+    filename VARCHAR(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS user_service_schema.tokens (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES user_service_schema.users (id),
+    jti UUID NOT NULL UNIQUE,
+    expires_at TIMESTAMP(6) NOT NULL,
+    is_revoked BOOLEAN,
+    device_fingerprint VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6)
+);
@@ -0,0 +1,25 @@
+-- Последовательности для id с пулом (allocationSize в @SequenceGenerator).
+-- Операции идемпотентны: на базах, созданных через ddl-auto=update, часть объектов уже существует.
+-- align_sequence сдвигает последовательность за MAX(id) таблицы, если таблица уже была заполнена через IDENTITY.
+
+CREATE SCHEMA IF NOT EXISTS user_service_schema;
+
+CREATE OR REPLACE FUNCTION user_service_schema.align_sequence(table_name TEXT, seq_name TEXT, step INT)
+RETURNS void AS '
+DECLARE
+    max_id BIGINT;
+    current_hi BIGINT;
+BEGIN
+    IF to_regclass(table_name) IS NULL THEN
+        RETURN;
+    END IF;
+    EXECUTE format(''SELECT COALESCE(MAX(id), 0) FROM %s'', table_name) INTO max_id;
+    EXECUTE format(''SELECT last_value FROM %s'', seq_name) INTO current_hi;
+    IF current_hi - step < max_id THEN
+        PERFORM setval(seq_name, max_id + step, false);
+    END IF;
+END;
+' LANGUAGE plpgsql;
+
+CREATE SEQUENCE IF NOT EXISTS user_service_schema.tokens_seq START WITH 1 INCREMENT BY 50;
+SELECT user_service_schema.align_sequence('user_service_schema.tokens', 'user_service_schema.tokens_seq', 50);
@@ -0,0 +1,8 @@
+-- Индексы под запросы репозиториев. CONCURRENTLY не блокирует запись в таблицы,
+-- поэтому миграция выполняется вне транзакции (V3__workload_indexes.sql.conf).
+-- Если построение прервалось, индекс остается INVALID: его нужно удалить и перезапустить сервис,
+-- SchemaIndexVerifier не даст стартовать с невалидным индексом.
+
+-- findAllByUser_IdAndRevokedFalse: отозванные токены копятся, в индекс попадают только активные
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tokens_user_active
+    ON user_service_schema.tokens (user_id) WHERE is_revoked = false;
@@ -0,0 +1,4 @@
+-- Триграммы для поиска пользователей по подстроке (UserRepository.searchByUsernameSubstring).
+-- Расширение ставится в схему public, чтобы им могли пользоваться и другие схемы базы;
+-- пользователю миграций нужны права на CREATE EXTENSION (или расширение ставит администратор заранее).
+CREATE EXTENSION IF NOT EXISTS pg_trgm WITH SCHEMA public;
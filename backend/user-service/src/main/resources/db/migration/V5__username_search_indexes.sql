@@ -0,0 +1,15 @@
+-- Индексы для поиска пользователей по имени (UserService.searchUsers). CONCURRENTLY, поэтому вне транзакции
+-- (V5__username_search_indexes.sql.conf); прерванное построение оставляет INVALID индекс, см. V3.
+-- Оба индекса по lower(username) и только по активным пользователям - ровно то, что ищется.
+-- SchemaIndexVerifier сверяет только индексы по колонкам, поэтому эти индексы в его список не входят.
+
+-- точное совпадение и префикс (LIKE 'abc%'), в том числе для коротких запросов из 2 символов,
+-- по которым триграммный индекс бесполезен; COLLATE "C" дает и LIKE по префиксу, и порядок для ORDER BY ... LIMIT
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_active_username_prefix
+    ON user_service_schema.users ((lower(username) COLLATE "C"))
+    WHERE deleted_at IS NULL AND locked_at IS NULL;
+
+-- подстрока (LIKE '%abc%') от 3 символов
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_active_username_trgm
+    ON user_service_schema.users USING GIN (lower(username) public.gin_trgm_ops)
+    WHERE deleted_at IS NULL AND locked_at IS NULL;
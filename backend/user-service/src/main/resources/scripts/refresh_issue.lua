@@ -0,0 +1,39 @@
+-- выдача refresh-токена: запись jti, индекс токенов пользователя и событие для записи в Postgres
+-- KEYS[1] - ключ токена, KEYS[2] - множество jti пользователя, KEYS[3] - очередь событий аудита,
+-- KEYS[4] - отметка последнего отзыва всех токенов пользователя
+-- ARGV[1] - jti, ARGV[2] - userId, ARGV[3] - отпечаток устройства, ARGV[4] - истечение (epoch ms),
+-- ARGV[5] - '1' записать событие выдачи, '0' нет (токен уже есть в Postgres), ARGV[6] - время выдачи (epoch ms)
+-- возвращает 1, если токен записан, 0 - если такой jti уже есть
+
+if redis.call('EXISTS', KEYS[1]) == 1 then
+    return 0
+end
+
+-- импортируемый токен выдан до отзыва всех сессий: строка в Postgres может быть еще не отозвана
+if ARGV[5] == '0' then
+    local revokedBefore = redis.call('GET', KEYS[4])
+    if revokedBefore and tonumber(ARGV[6]) <= tonumber(revokedBefore) then
+        return 0
+    end
+end
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+local ttl = tonumber(ARGV[4]) - now
+if ttl <= 0 then
+    return 0
+end
+
+redis.call('HSET', KEYS[1], 'uid', ARGV[2], 'fp', ARGV[3], 'exp', ARGV[4], 'rev', '0')
+redis.call('PEXPIRE', KEYS[1], ttl)
+
+-- множество живет не меньше самого позднего токена в нем
+redis.call('SADD', KEYS[2], ARGV[1])
+if redis.call('PTTL', KEYS[2]) < ttl then
+    redis.call('PEXPIRE', KEYS[2], ttl)
+end
+
+if ARGV[5] == '1' then
+    redis.call('RPUSH', KEYS[3], 'I|' .. ARGV[1] .. '|' .. ARGV[2] .. '|' .. ARGV[4] .. '|' .. ARGV[3])
+end
+return 1
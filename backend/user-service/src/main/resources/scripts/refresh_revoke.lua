@@ -0,0 +1,22 @@
+-- отзыв одного refresh-токена (logout)
+-- KEYS[1] - ключ токена, KEYS[2] - множество jti пользователя, KEYS[3] - очередь аудита
+-- ARGV[1] - jti, ARGV[2] - истечение токена из claims (epoch ms)
+-- событие пишется и для токена, которого нет в Redis: он мог быть выдан до переноса токенов в Redis
+
+if redis.call('EXISTS', KEYS[1]) == 1 then
+    redis.call('HSET', KEYS[1], 'rev', '1')
+else
+    -- токен есть только в Postgres, а отзыв попадет туда после записи аудита;
+    -- надгробие без uid не дает импортировать его в этом окне (refresh_issue.lua вернет 0), а поиск и
+    -- ротация считают такой токен ненайденным
+    local time = redis.call('TIME')
+    local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+    local ttl = tonumber(ARGV[2]) - now
+    if ttl > 0 then
+        redis.call('HSET', KEYS[1], 'exp', ARGV[2], 'rev', '1')
+        redis.call('PEXPIRE', KEYS[1], ttl)
+    end
+end
+redis.call('SREM', KEYS[2], ARGV[1])
+redis.call('RPUSH', KEYS[3], 'R|' .. ARGV[1])
+return 1
@@ -0,0 +1,37 @@
+-- ротация refresh-токена за один вызов: проверка старого, отзыв и выдача нового
+-- KEYS[1] - старый токен, KEYS[2] - множество jti пользователя, KEYS[3] - новый токен, KEYS[4] - очередь аудита
+-- ARGV[1] - старый jti, ARGV[2] - userId, ARGV[3] - отпечаток устройства, ARGV[4] - новый jti,
+-- ARGV[5] - истечение нового токена (epoch ms)
+-- возвращает OK, NOT_FOUND, MISMATCH, REVOKED или EXPIRED
+
+local token = redis.call('HMGET', KEYS[1], 'uid', 'fp', 'exp', 'rev')
+if not token[1] or token[1] ~= ARGV[2] then
+    return 'NOT_FOUND'
+end
+if token[2] ~= ARGV[3] then
+    return 'MISMATCH'
+end
+if token[4] == '1' then
+    return 'REVOKED'
+end
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+if tonumber(token[3]) < now then
+    return 'EXPIRED'
+end
+
+-- отозванный токен остается до истечения, чтобы повторное использование отличалось от неизвестного
+redis.call('HSET', KEYS[1], 'rev', '1')
+redis.call('SREM', KEYS[2], ARGV[1])
+redis.call('RPUSH', KEYS[4], 'R|' .. ARGV[1])
+
+local ttl = tonumber(ARGV[5]) - now
+redis.call('HSET', KEYS[3], 'uid', ARGV[2], 'fp', ARGV[3], 'exp', ARGV[5], 'rev', '0')
+redis.call('PEXPIRE', KEYS[3], ttl)
+redis.call('SADD', KEYS[2], ARGV[4])
+if redis.call('PTTL', KEYS[2]) < ttl then
+    redis.call('PEXPIRE', KEYS[2], ttl)
+end
+redis.call('RPUSH', KEYS[4], 'I|' .. ARGV[4] .. '|' .. ARGV[2] .. '|' .. ARGV[5] .. '|' .. ARGV[3])
+return 'OK'
@@ -0,0 +1,66 @@
+package com.example.userservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UsernameTagAllocatorTests {
+
+    @Test
+    void noTakenTagsMapsIndexToTag() {
+        BitSet taken = new BitSet(UsernameTagAllocator.TAG_COUNT);
+
+        assertEquals(0, UsernameTagAllocator.nthFreeTag(taken, 0));
+        assertEquals(42, UsernameTagAllocator.nthFreeTag(taken, 42));
+        assertEquals(9999, UsernameTagAllocator.nthFreeTag(taken, UsernameTagAllocator.TAG_COUNT - 1));
+    }
+
+    @Test
+    void skipsTakenTags() {
+        BitSet taken = bits(0, 1, 3, 4, 5, 9);
+
+        assertEquals(2, UsernameTagAllocator.nthFreeTag(taken, 0));
+        assertEquals(6, UsernameTagAllocator.nthFreeTag(taken, 1));
+        assertEquals(7, UsernameTagAllocator.nthFreeTag(taken, 2));
+        assertEquals(8, UsernameTagAllocator.nthFreeTag(taken, 3));
+        assertEquals(10, UsernameTagAllocator.nthFreeTag(taken, 4));
+    }
+
+    @Test
+    void findsLastFreeTag() {
+        BitSet taken = new BitSet(UsernameTagAllocator.TAG_COUNT);
+        taken.set(0, UsernameTagAllocator.TAG_COUNT);
+        taken.clear(7311);
+
+        assertEquals(7311, UsernameTagAllocator.nthFreeTag(taken, 0));
+    }
+
+    @Test
+    void everyIndexGivesDistinctFreeTag() {
+        BitSet taken = new BitSet(UsernameTagAllocator.TAG_COUNT);
+        for (int i = 0; i < UsernameTagAllocator.TAG_COUNT; i += 3) {
+            taken.set(i);
+        }
+        int free = UsernameTagAllocator.TAG_COUNT - taken.cardinality();
+
+        // перебор всех k должен дать каждый свободный тег ровно один раз, по возрастанию
+        int previous = -1;
+        for (int k = 0; k < free; k++) {
+            int tag = UsernameTagAllocator.nthFreeTag(taken, k);
+            assertFalse(taken.get(tag));
+            assertTrue(tag > previous);
+            assertTrue(tag < UsernameTagAllocator.TAG_COUNT);
+            previous = tag;
+        }
+    }
+
+    private static BitSet bits(int... tags) {
+        BitSet set = new BitSet();
+        for (int tag : tags) {
+            set.set(tag);
+        }
+        return set;
+    }
+}